@@ -0,0 +1,142 @@
+package com.grievance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long each physical connection is checked out of a pool, as
+ * {@code db.connection.lease} tagged by pool and endpoint (the handler's URI
+ * pattern, "unmapped" before handler mapping, "background" off-request).
+ * <p>
+ * Calls out to external services report through {@link #externalCall}; one
+ * made while this thread holds a connection is counted as
+ * {@code db.connection.held.external} and logged, so those should stay at zero.
+ * <p>
+ * The pool bean is wrapped in a class-based proxy, so it is still a
+ * HikariDataSource to the rest of the context (pool metrics, health, its
+ * close() destroy method). Each lease is recorded on the connection it hands
+ * out, together with the thread that checked it out, and ends when that
+ * connection is closed, whichever thread closes it.
+ */
+@Slf4j
+@Component
+public class ConnectionLeaseMonitor implements BeanPostProcessor {
+
+    private static final class Lease {
+        private final Thread owner = Thread.currentThread();
+        private final long leasedAt = System.nanoTime();
+    }
+
+    private final Set<Lease> openLeases = ConcurrentHashMap.newKeySet();
+
+    // Resolved lazily: post-processors are created before the registry exists
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConnectionLeaseMonitor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+            String name = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+            ProxyFactory proxy = new ProxyFactory(pool);
+            proxy.setProxyTargetClass(true);
+            proxy.addAdvice((MethodInterceptor) invocation -> {
+                Object result = invocation.proceed();
+                return "getConnection".equals(invocation.getMethod().getName())
+                        ? track((Connection) result, name)
+                        : result;
+            });
+            return proxy.getProxy();
+        }
+        return bean;
+    }
+
+    public void externalCall(String operation) {
+        Thread current = Thread.currentThread();
+        if (openLeases.stream().noneMatch(lease -> lease.owner == current)) {
+            return;
+        }
+        String endpoint = currentEndpoint();
+        log.warn("{} called while holding a DB connection ({})", operation, endpoint);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Counter.builder("db.connection.held.external")
+                    .tag("operation", operation)
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private void recordLease(String pool, long nanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder("db.connection.lease")
+                    .tag("pool", pool)
+                    .tag("endpoint", currentEndpoint())
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return "background";
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+    }
+
+    private Connection track(Connection connection, String pool) {
+        Lease lease = new Lease();
+        openLeases.add(lease);
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    // Only the first close ends the lease; the pool ignores repeated ones too
+                    if ("close".equals(method.getName()) && openLeases.remove(lease)) {
+                        recordLease(pool, System.nanoTime() - lease.leasedAt);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
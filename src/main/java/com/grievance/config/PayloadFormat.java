@@ -0,0 +1,28 @@
+package com.grievance.config;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+// Low-cardinality metric tag for a Content-Type
+final class PayloadFormat {
+
+    private PayloadFormat() {
+    }
+
+    static String of(String contentType) {
+        if (!StringUtils.hasText(contentType)) {
+            return "none";
+        }
+        try {
+            String subtype = MediaType.parseMediaType(contentType).getSubtype();
+            return switch (subtype) {
+                case "json" -> "json";
+                case "cbor" -> "cbor";
+                case "x-jackson-smile" -> "smile";
+                default -> "other";
+            };
+        } catch (IllegalArgumentException e) {
+            return "other";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.grievance.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Slf4j
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    // Statements issued by the handler, left on the request for tests and access logs
+    public static final String STATEMENT_COUNT_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".statementCount";
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        QueryCountInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                Exception ex) {
+        try {
+            if (!(handler instanceof HandlerMethod handlerMethod)) {
+                return;
+            }
+
+            int count = QueryCountInspector.getCount();
+            request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, count);
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+
+            if (budget != null && count > budget.value()) {
+                log.warn("Query budget exceeded for {} {}: {} statements (budget {})",
+                        request.getMethod(), request.getRequestURI(), count, budget.value());
+            } else {
+                log.debug("{} {} issued {} statements",
+                        request.getMethod(), request.getRequestURI(), count);
+            }
+        } finally {
+            QueryCountInspector.reset();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.grievance.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registered through hibernate.session_factory.statement_inspector and read
+ * by {@link QueryBudgetInterceptor} at the end of each request.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static int getCount() {
+        return COUNT.get()[0];
+    }
+
+    public static void reset() {
+        COUNT.remove();
+    }
+}
@@ -0,0 +1,67 @@
+package com.grievance.config;
+
+import com.grievance.security.SecurityUtils;
+import com.grievance.service.GrievanceChangedEvent;
+import com.grievance.service.UserRenamedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * When each user's last write committed, for read-your-writes routing. Only
+ * the write paths that publish GrievanceChangedEvent or UserRenamedEvent
+ * count, after their commit, so a read-write transaction that changed
+ * nothing does not pin its user to the primary. Shared by replica routing
+ * and RequestCoalescer, which both need to know whether a read may predate
+ * the user's own write.
+ * <p>
+ * Kept in memory, so each Lambda container (or instance) only knows about
+ * writes it handled itself.
+ */
+@Component
+public class RecentWrites {
+
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    @Value("${coalescing.max-wait-ms:5000}")
+    private long coalescingMaxWaitMs;
+
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGrievanceChanged(GrievanceChangedEvent event) {
+        record();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRenamed(UserRenamedEvent event) {
+        record();
+    }
+
+    public boolean wroteRecently(String username) {
+        Long at = lastWriteAt(username);
+        return at != null && System.currentTimeMillis() - at < readYourWritesMs;
+    }
+
+    public Long lastWriteAt(String username) {
+        return username == null ? null : lastWriteByUser.get(username);
+    }
+
+    private void record() {
+        String username = SecurityUtils.getCurrentUsername();
+        if (username == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteByUser.put(username, now);
+
+        // Older writes only matter to coalesced flights that have outlived every waiter's timeout
+        long cutoff = now - readYourWritesMs - coalescingMaxWaitMs;
+        lastWriteByUser.values().removeIf(at -> at < cutoff);
+    }
+}
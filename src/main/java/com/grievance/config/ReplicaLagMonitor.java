@@ -0,0 +1,56 @@
+package com.grievance.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls replication lag on the replica and takes it out of rotation while the
+ * lag exceeds {@code app.datasource.replica.max-lag-ms} or the replica is
+ * unreachable. A server that is not in recovery (e.g. a second standalone
+ * Postgres used for local testing) reports no lag.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_MS_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final JdbcTemplate replica;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final long maxLagMs;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReplicaRoutingDataSource routingDataSource,
+                             long maxLagMs) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.routingDataSource = routingDataSource;
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean available;
+        try {
+            Double lagMs = replica.queryForObject(LAG_MS_SQL, Double.class);
+            available = lagMs != null && lagMs <= maxLagMs;
+            if (!available) {
+                log.debug("Replica lag {} ms exceeds {} ms", lagMs, maxLagMs);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            available = false;
+        }
+
+        if (available != routingDataSource.isReplicaAvailable()) {
+            log.warn("Read replica {}", available ? "back in rotation" : "out of rotation, reading from primary");
+        }
+        routingDataSource.setReplicaAvailable(available);
+    }
+}
@@ -0,0 +1,54 @@
+package com.grievance.config;
+
+import com.grievance.security.SecurityUtils;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the
+ * replica, everything else to the primary. Falls back to the primary while
+ * the replica lags (see ReplicaLagMonitor) and, for a short window after a
+ * user's write commits (see RecentWrites), for that user's reads so they see
+ * their own changes.
+ * <p>
+ * A user whose next request lands on another container can still read from
+ * the replica within the window; the guarantee is best effort, bounded by the
+ * replica lag limit (ReplicaLagMonitor).
+ * <p>
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only
+ * known once the transaction has started, after the connection was requested.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final RecentWrites recentWrites;
+
+    private volatile boolean replicaAvailable = true;
+
+    public ReplicaRoutingDataSource(RecentWrites recentWrites) {
+        this.recentWrites = recentWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+
+        if (!replicaAvailable || recentWrites.wroteRecently(SecurityUtils.getCurrentUsername())) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+}
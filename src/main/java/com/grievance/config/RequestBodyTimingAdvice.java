@@ -0,0 +1,61 @@
+package com.grievance.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times Jackson request-body parsing per wire format as
+ * {@code http.request.body.parse}, to compare JSON with CBOR/Smile.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class RequestBodyTimingAdvice extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<Long> START = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean supports(@NonNull MethodParameter methodParameter, @NonNull Type targetType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    @NonNull
+    public HttpInputMessage beforeBodyRead(@NonNull HttpInputMessage inputMessage, @NonNull MethodParameter parameter,
+                                           @NonNull Type targetType,
+                                           @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        START.set(System.nanoTime());
+        return inputMessage;
+    }
+
+    @Override
+    @NonNull
+    public Object afterBodyRead(@NonNull Object body, @NonNull HttpInputMessage inputMessage,
+                                @NonNull MethodParameter parameter, @NonNull Type targetType,
+                                @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        Long start = START.get();
+        START.remove();
+        if (start != null) {
+            HttpHeaders headers = inputMessage.getHeaders();
+            Timer.builder("http.request.body.parse")
+                    .tag("format", PayloadFormat.of(headers.getFirst(HttpHeaders.CONTENT_TYPE)))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,32 @@
+package com.grievance.config;
+
+/**
+ * Schema the current thread's sessions are bound to. Set per request by
+ * ShardFilter and per task by ShardExecutor; unset means the default schema.
+ */
+public final class ShardContext {
+
+    public static final String DEFAULT_SCHEMA = "public";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        String schema = CURRENT.get();
+        return schema == null ? DEFAULT_SCHEMA : schema;
+    }
+
+    public static boolean isSet() {
+        return CURRENT.get() != null;
+    }
+
+    public static void set(String schema) {
+        CURRENT.set(schema);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
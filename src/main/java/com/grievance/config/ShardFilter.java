@@ -0,0 +1,98 @@
+package com.grievance.config;
+
+import com.grievance.entity.User;
+import com.grievance.security.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Binds the request to a shard before any session is opened. Users with an
+ * assigned block are pinned to its shard; super admins and users without a
+ * block pick one with the X-Block header. Grievance data requests that
+ * resolve to no block are rejected with 400 rather than silently served from
+ * the default schema only; the exceptions are the admin dashboard, which
+ * fans out through ShardExecutor, and the in-memory autocomplete.
+ * Runs after the security filter chain, so the user is already known.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardFilter extends OncePerRequestFilter {
+
+    public static final String BLOCK_HEADER = "X-Block";
+
+    // Paths whose data lives in the block schemas
+    private static final List<String> SHARDED_PATHS = List.of("/grievances", "/attachments", "/dashboard");
+
+    // Answered across all shards (scatter-gather) or from memory
+    private static final List<String> CROSS_SHARD_PATHS = List.of("/dashboard/admin", "/grievances/autocomplete");
+
+    private final ShardRegistry shardRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !shardRegistry.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String block = resolveBlock(request);
+        if (block != null) {
+            ShardContext.set(shardRegistry.schemaFor(block));
+        } else if (SecurityUtils.getCurrentUser() != null && requiresBlock(request)) {
+            sendBlockRequired(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private static boolean requiresBlock(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return matches(path, SHARDED_PATHS) && !matches(path, CROSS_SHARD_PATHS);
+    }
+
+    private static boolean matches(String path, List<String> prefixes) {
+        return prefixes.stream().anyMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    private static void sendBlockRequired(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        response.setContentType("application/json");
+        response.getWriter().write(String.format("""
+            {
+              "timestamp": "%s",
+              "status": %d,
+              "error": "Bad Request",
+              "message": "Grievances are stored per block; send the %s header"
+            }
+            """, LocalDateTime.now(), HttpServletResponse.SC_BAD_REQUEST, BLOCK_HEADER));
+    }
+
+    private String resolveBlock(HttpServletRequest request) {
+        User user = SecurityUtils.getCurrentUser();
+        if (user == null) {
+            return null;
+        }
+        if (user.getRole() != User.Role.SUPER_ADMIN && StringUtils.hasText(user.getBlockAssigned())) {
+            return user.getBlockAssigned();
+        }
+        String header = request.getHeader(BLOCK_HEADER);
+        return StringUtils.hasText(header) ? header : null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.grievance.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Block to schema mapping for the optional sharding mode. Blocks without an
+ * entry stay in the default schema, so shards can be split off one at a time
+ * (see db/migration/V8__block_shards.sql).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardRegistry {
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private boolean enabled = false;
+
+    // Worker threads for scatter-gather; keep within the connection pool size
+    private int parallelism = 2;
+
+    private Map<String, String> blocks = new HashMap<>();
+
+    @PostConstruct
+    void validate() {
+        // Schema names end up in SET search_path, so only plain identifiers are allowed
+        for (String schema : blocks.values()) {
+            if (!SCHEMA_NAME.matcher(schema).matches()) {
+                throw new IllegalStateException("Invalid shard schema name: " + schema);
+            }
+        }
+    }
+
+    public String schemaFor(String block) {
+        return block == null ? ShardContext.DEFAULT_SCHEMA : blocks.getOrDefault(block, ShardContext.DEFAULT_SCHEMA);
+    }
+
+    public List<String> allSchemas() {
+        Set<String> schemas = new LinkedHashSet<>();
+        schemas.add(ShardContext.DEFAULT_SCHEMA);
+        schemas.addAll(blocks.values());
+        return new ArrayList<>(schemas);
+    }
+
+    /**
+     * A grievance cannot change shard in place: its id, attachments and read
+     * row belong to the old schema. Checked before any field is changed.
+     */
+    public void requireSameShard(String currentBlock, String newBlock) {
+        if (enabled && !schemaFor(currentBlock).equals(schemaFor(newBlock))) {
+            throw new IllegalArgumentException("Block " + newBlock + " is stored in another shard than block "
+                    + currentBlock + "; create the grievance in the new block and delete this one");
+        }
+    }
+
+    /**
+     * A grievance is stored in the schema its block maps to; writes from a
+     * session bound to another shard are rejected.
+     */
+    public void requireCurrentShard(String block) {
+        if (enabled && !schemaFor(block).equals(ShardContext.current())) {
+            throw new IllegalArgumentException("Block " + block + " is stored in another shard; send "
+                    + ShardFilter.BLOCK_HEADER + ": " + block);
+        }
+    }
+}
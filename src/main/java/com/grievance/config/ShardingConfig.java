@@ -0,0 +1,113 @@
+package com.grievance.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Schema-per-shard multi-tenancy: every Hibernate session is bound to the
+ * schema in ShardContext and its connections run with
+ * {@code search_path = <shard>, public}, so grievance tables resolve to the
+ * shard while shared tables (users) and types stay in public.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateProperties(DataSource dataSource) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER,
+                    new SchemaConnectionProvider(dataSource));
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new ShardTenantResolver());
+        };
+    }
+
+    static class ShardTenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+        @Override
+        public String resolveCurrentTenantIdentifier() {
+            return ShardContext.current();
+        }
+
+        @Override
+        public boolean validateExistingCurrentSessions() {
+            return true;
+        }
+    }
+
+    static class SchemaConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+        private final transient DataSource dataSource;
+
+        SchemaConnectionProvider(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Connection getAnyConnection() throws SQLException {
+            return dataSource.getConnection();
+        }
+
+        @Override
+        public void releaseAnyConnection(Connection connection) throws SQLException {
+            connection.close();
+        }
+
+        @Override
+        public Connection getConnection(String schema) throws SQLException {
+            Connection connection = getAnyConnection();
+            if (!ShardContext.DEFAULT_SCHEMA.equals(schema)) {
+                // Names are validated by ShardRegistry
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET search_path TO " + schema + ", public");
+                } catch (SQLException e) {
+                    connection.close();
+                    throw e;
+                }
+            }
+            return connection;
+        }
+
+        @Override
+        public void releaseConnection(String schema, Connection connection) throws SQLException {
+            try {
+                if (!ShardContext.DEFAULT_SCHEMA.equals(schema)) {
+                    // Pooled connections must not keep the shard's search_path
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("RESET search_path");
+                    }
+                }
+            } finally {
+                connection.close();
+            }
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class<?> unwrapType) {
+            return unwrapType.isInstance(this);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> unwrapType) {
+            if (isUnwrappableAs(unwrapType)) {
+                return unwrapType.cast(this);
+            }
+            throw new IllegalArgumentException("Cannot unwrap to " + unwrapType);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.grievance.controller;
+
+import com.grievance.service.AutocompleteService;
+import com.grievance.utility.PrefixTrie;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/grievances/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete", description = "Prefix suggestions for grievance form fields")
+@SecurityRequirement(name = "bearerAuth")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('AGENT') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Most frequent values starting with prefix (empty until the index is built)",
+            description = "field=NAME is limited to ADMIN and SUPER_ADMIN; agents get 403.")
+    public ResponseEntity<List<PrefixTrie.Suggestion>> suggest(
+            @RequestParam AutocompleteService.Field field,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(field, prefix, limit));
+    }
+}
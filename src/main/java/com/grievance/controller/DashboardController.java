@@ -37,7 +37,9 @@ public class DashboardController {
 
     @GetMapping("/agent")
     @PreAuthorize("hasRole('AGENT') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    @Operation(summary = "Agent dashboard statistics")
+    @Operation(summary = "Agent dashboard statistics",
+            description = "recentActivity lists today's grievances, newest first, up to 200. " +
+                    "recentActivityTruncated and recentActivityTotal say when the day holds more.")
     public ResponseEntity<DashboardResponse> getAgentDashboard(
             @RequestParam(required = false) LocalDate startDate,
             @RequestParam(required = false) LocalDate endDate) {
@@ -0,0 +1,55 @@
+package com.grievance.controller;
+
+import com.grievance.dto.FullTextSearchResponse;
+import com.grievance.service.GrievanceSearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/grievances/fulltext")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "search.fulltext", name = "enabled", havingValue = "true")
+@Tag(name = "Full-text Search", description = "Relevance-ranked search over grievance text")
+@SecurityRequirement(name = "bearerAuth")
+public class FullTextSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final GrievanceSearchIndexService searchIndexService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Search grievance details and remarks with highlights and facet counts")
+    public ResponseEntity<FullTextSearchResponse> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String block,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "20") int limit) throws IOException {
+
+        if (q.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(searchIndexService.search(q, block, status, boundedLimit));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Rebuild the full-text index from the database")
+    public ResponseEntity<Map<String, Long>> rebuild() throws IOException {
+        return ResponseEntity.ok(Map.of("indexed", searchIndexService.rebuild()));
+    }
+}
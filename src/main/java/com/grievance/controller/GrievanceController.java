@@ -1,26 +1,32 @@
 package com.grievance.controller;
 
+import com.grievance.config.QueryBudget;
 import com.grievance.dto.*;
+import com.grievance.entity.AttachmentStatus;
 import com.grievance.entity.Grievance;
+import com.grievance.service.GrievanceExportService;
 import com.grievance.service.GrievanceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/grievances")
@@ -30,6 +36,10 @@ import java.util.List;
 public class GrievanceController {
 
     private final GrievanceService grievanceService;
+    private final GrievanceExportService grievanceExportService;
+
+    // Clients may keep a copy but must revalidate it (If-None-Match) before each use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @PostMapping
     @PreAuthorize("hasRole('AGENT') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
@@ -52,17 +62,91 @@ public class GrievanceController {
 
     @GetMapping("/{grievanceId}")
     @Operation(summary = "Get grievance by ID")
-    public ResponseEntity<GrievanceDTO> getGrievance(@PathVariable Long grievanceId) {
+    public ResponseEntity<GrievanceDTO> getGrievance(@PathVariable Long grievanceId, WebRequest request,
+                                                    HttpServletResponse response) {
+        ResourceVersion version = grievanceService.getGrievanceVersion(grievanceId);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        // The body may come from a shared load that read a different version than
+        // the check above, so the validators are taken from the body itself
         GrievanceDTO grievance = grievanceService.getGrievanceById(grievanceId);
-        return ResponseEntity.ok(grievance);
+        ResourceVersion loaded = ResourceVersion.of(grievance);
+        response.setHeader(HttpHeaders.ETAG, loaded.etag());
+        if (loaded.lastModifiedMillis() >= 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, loaded.lastModifiedMillis());
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(grievance);
+    }
+
+    // status aggregate + newest summaries
+    @GetMapping("/citizen-history")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "All grievances filed from a contact number, newest first (Admin only)",
+            description = "The number is matched on its last ten digits, so +91/0 prefixes and separators are ignored.")
+    public ResponseEntity<CitizenHistoryResponse> getCitizenHistory(
+            @RequestParam String contact,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(grievanceService.getCitizenHistory(contact, limit));
     }
 
+    @GetMapping("/{grievanceId}/attachments")
+    @QueryBudget(2)
+    @Operation(summary = "Page through a grievance's attachments in upload order",
+            description = "Pass nextCursor from the previous page as cursor. status filters by upload state.")
+    public ResponseEntity<CursorPage<AttachmentDTO>> getGrievanceAttachments(
+            @PathVariable Long grievanceId,
+            @RequestParam(required = false) AttachmentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(grievanceService.getGrievanceAttachments(grievanceId, status, cursor, size));
+    }
+
+    // version + current user + page + count (EXACT only) + one batched attachment query
     @GetMapping("/all")
-    @Operation(summary = "Get all grievances (paginated)")
-    public ResponseEntity<Page<GrievanceDTO>> getAllGrievances(
-            @Parameter(hidden = true) @PageableDefault(size = 20) Pageable pageable) {
-        Page<GrievanceDTO> grievances = grievanceService.getAllGrievances(pageable);
-        return ResponseEntity.ok(grievances);
+    @QueryBudget(5)
+    @Operation(summary = "Get all grievances (paginated summaries)",
+            description = "count=EXACT runs a COUNT(*), ESTIMATE uses planner statistics, NONE only reports hasNext. " +
+                    "Defaults to NONE for agents and EXACT for admins. " +
+                    "fields=grievanceId,name,status,createdAt limits the selected columns and the JSON.")
+    public ResponseEntity<PageResponse<GrievanceSummaryDTO>> getAllGrievances(
+            @RequestParam(defaultValue = "true") boolean includeAttachments,
+            @RequestParam(required = false) CountMode count,
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request) {
+        ResourceVersion version = grievanceService.getListVersion();
+        if (request.checkNotModified(version.etag(includeAttachments, count, fields, pageable.toString()),
+                version.lastModifiedMillis())) {
+            return null;
+        }
+
+        PageResponse<GrievanceSummaryDTO> grievances =
+                grievanceService.getAllGrievances(pageable, includeAttachments, count, fields);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(grievances);
+    }
+
+    // version + current user + page + one batched attachment query, no count
+    @GetMapping("/all/cursor")
+    @QueryBudget(4)
+    @Operation(summary = "Get all grievances (cursor paginated summaries, newest first)")
+    public ResponseEntity<CursorPage<GrievanceSummaryDTO>> getAllGrievancesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeAttachments,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        ResourceVersion version = grievanceService.getListVersion();
+        if (request.checkNotModified(version.etag(cursor, size, includeAttachments, fields),
+                version.lastModifiedMillis())) {
+            return null;
+        }
+
+        CursorPage<GrievanceSummaryDTO> grievances =
+                grievanceService.getAllGrievancesByCursor(cursor, size, includeAttachments, fields);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(grievances);
     }
 
     /*@GetMapping
@@ -77,13 +161,21 @@ public class GrievanceController {
         return ResponseEntity.ok(grievances);
     }*/
 
+    // page + count + optional facet group-by + optional batched attachment query
     @GetMapping
-    @Operation(summary = "Get grievances by filters")
-    public ResponseEntity<List<GrievanceDTO>> getGrievances(
-            @ModelAttribute GrievanceFilter filter) {
+    @QueryBudget(4)
+    @Operation(summary = "Get grievances by filters (paginated, max 100 per page)",
+            description = "facets=true adds counts by status, block and gp for the whole filter. " +
+                    "name and fatherSpouseName match substrings unless nameMatch=PREFIX or PHONETIC.")
+    public ResponseEntity<PageResponse<GrievanceSummaryDTO>> getGrievances(
+            @ModelAttribute GrievanceFilter filter,
+            @RequestParam(defaultValue = "false") boolean includeAttachments,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) @PageableDefault(size = 20) Pageable pageable) {
 
         return ResponseEntity.ok(
-                grievanceService.getGrievances(filter)
+                grievanceService.getGrievances(filter, pageable, includeAttachments, facets, fields)
         );
     }
 
@@ -113,6 +205,24 @@ public class GrievanceController {
     }*/
 
 
+    // grievances + users in one query, attachments in a second
+    @PostMapping("/batch")
+    @QueryBudget(2)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Get up to 100 grievances by id in request order (Admin only)")
+    public ResponseEntity<List<GrievanceBatchItem>> getGrievancesBatch(
+            @Valid @RequestBody GrievanceBatchRequest request) {
+        List<GrievanceBatchItem> grievances = grievanceService.getGrievancesByIds(request.getGrievanceIds());
+        return ResponseEntity.ok(grievances);
+    }
+
+    @PostMapping("/phonetic-keys/backfill")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Compute phonetic name keys for existing grievances (Super Admin only)")
+    public ResponseEntity<Map<String, Long>> backfillPhoneticKeys() {
+        return ResponseEntity.ok(Map.of("updated", grievanceService.backfillPhoneticKeys()));
+    }
+
     @DeleteMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @Operation(summary = "Delete multiple grievances (Admin only)")
@@ -121,29 +231,30 @@ public class GrievanceController {
         return ResponseEntity.noContent().build();
     }
 
+    // The Lambda handler buffers the whole response and API Gateway caps it at 6 MB
+    // (less once base64-encoded), so CSV is delivered from S3; PDF is still built in memory
     @PostMapping("/export")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<byte[]> exportGrievances(
-            @RequestBody GrievanceExportRequest request) throws Exception {
+    @Operation(summary = "Export grievances (Admin only)",
+            description = "EXCEL answers 303 See Other with a pre-signed S3 URL for the CSV; "
+                    + "PDF is returned in the response body.")
+    public void exportGrievances(
+            @RequestBody GrievanceExportRequest request,
+            HttpServletResponse response) throws Exception {
 
-        byte[] fileBytes;
         if (request.getFormat() == ExportFormat.EXCEL) {
-
-            fileBytes = grievanceService.exportToCsv(request.getGrievanceIds());
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=grievances.csv")
-                    .header(HttpHeaders.CONTENT_TYPE, "text/csv; charset=UTF-8")
-                    .body(fileBytes);
+            String url = grievanceExportService.exportCsv(request.getGrievanceIds());
+            response.setStatus(HttpServletResponse.SC_SEE_OTHER);
+            response.setHeader(HttpHeaders.LOCATION, url);
         }
         else {
-            fileBytes = grievanceService.exportToPdf(request.getGrievanceIds());
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=grievances.pdf")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(fileBytes);
+            byte[] fileBytes = grievanceService.exportToPdf(request.getGrievanceIds());
+
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=grievances.pdf");
+            response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+            response.setContentLength(fileBytes.length);
+            response.getOutputStream().write(fileBytes);
         }
     }
 }
\ No newline at end of file
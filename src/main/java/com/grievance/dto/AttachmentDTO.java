@@ -16,6 +16,7 @@ public class AttachmentDTO {
     private String fileType;
     private String fileName;
     private Long fileSize;
+    private String status;
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime uploadedAt;
@@ -34,6 +35,7 @@ public class AttachmentDTO {
         dto.setFileType(attachment.getFileType());
         dto.setFileName(attachment.getFileName());
         dto.setFileSize(attachment.getFileSize());
+        dto.setStatus(attachment.getStatus() != null ? attachment.getStatus().name() : null);
         dto.setUploadedAt(attachment.getUploadedAt());
 
         return dto;
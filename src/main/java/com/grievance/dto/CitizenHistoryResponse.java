@@ -0,0 +1,34 @@
+package com.grievance.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CitizenHistoryResponse {
+
+    // Normalized form the lookup used (last ten digits)
+    private String contact;
+
+    private Long totalGrievances;
+    private Boolean repeatFiler;
+    private Map<String, Long> statusCounts;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime firstFiledAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime lastFiledAt;
+
+    // Newest first, at most the requested limit
+    private List<GrievanceSummaryDTO> grievances;
+}
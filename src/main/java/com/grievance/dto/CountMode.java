@@ -0,0 +1,13 @@
+package com.grievance.dto;
+
+/**
+ * How a paged listing reports its total.
+ */
+public enum CountMode {
+    // SELECT COUNT(*) over the scoped rows
+    EXACT,
+    // Postgres planner row estimate, no scan
+    ESTIMATE,
+    // no total, only whether another page exists
+    NONE
+}
@@ -0,0 +1,22 @@
+package com.grievance.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    private List<T> content;
+    private Integer size;
+
+    // Opaque token for the next page, null on the last page
+    private String nextCursor;
+    private Boolean hasNext;
+}
@@ -29,5 +29,9 @@ public class DashboardResponse {
     private Map<String, Long> agentPerformance;
 
     // Recent activity
-    private List<GrievanceDTO> recentActivity;
+    private List<GrievanceSummaryDTO> recentActivity;
+
+    // Agent dashboard: set when today's rows exceed what recentActivity carries
+    private Boolean recentActivityTruncated;
+    private Long recentActivityTotal;
 }
\ No newline at end of file
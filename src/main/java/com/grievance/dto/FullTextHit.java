@@ -0,0 +1,24 @@
+package com.grievance.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FullTextHit {
+
+    private Long grievanceId;
+    private Float score;
+    private String name;
+    private String block;
+    private String status;
+
+    // field name -> best matching fragment with <em> markers
+    private Map<String, String> highlights;
+}
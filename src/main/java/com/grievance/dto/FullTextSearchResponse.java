@@ -0,0 +1,20 @@
+package com.grievance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FullTextSearchResponse {
+
+    private Long totalHits;
+    private List<FullTextHit> hits;
+
+    // dimension (block, status) -> label -> count, for the same query
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,29 @@
+package com.grievance.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One slot of a batch read, in the position of the requested id.
+ * grievance is omitted when found is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GrievanceBatchItem {
+
+    private Long grievanceId;
+    private Boolean found;
+    private GrievanceDTO grievance;
+
+    public static GrievanceBatchItem found(GrievanceDTO grievance) {
+        return new GrievanceBatchItem(grievance.getGrievanceId(), true, grievance);
+    }
+
+    public static GrievanceBatchItem notFound(Long grievanceId) {
+        return new GrievanceBatchItem(grievanceId, false, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.grievance.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GrievanceBatchRequest {
+    @NotEmpty
+    @Size(max = 100)
+    private List<Long> grievanceIds;
+}
@@ -2,6 +2,7 @@ package com.grievance.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.grievance.entity.Attachment;
 import com.grievance.entity.Grievance;
 import lombok.Data;
 
@@ -48,9 +49,20 @@ public class GrievanceDTO {
     private UserDTO collectedBy;
     private UserDTO assignedTo;
 
+    // Detail reads embed only the first few attachments; the full list is
+    // paged from /grievances/{id}/attachments
+    private Long attachmentCount;
     private List<AttachmentDTO> attachments;
 
     public static GrievanceDTO fromEntity(Grievance grievance) {
+        return fromEntity(grievance, grievance.getAttachments());
+    }
+
+    /**
+     * Maps a grievance using attachments that were loaded separately (e.g. in one
+     * batch for a whole page), so the lazy collection is never touched.
+     */
+    public static GrievanceDTO fromEntity(Grievance grievance, List<Attachment> attachments) {
         GrievanceDTO dto = new GrievanceDTO();
         dto.setGrievanceId(grievance.getGrievanceId());
         dto.setBlock(grievance.getBlock());
@@ -84,8 +96,8 @@ public class GrievanceDTO {
             dto.setAssignedTo(UserDTO.fromEntity(grievance.getAssignedTo()));
         }
 
-        if (grievance.getAttachments() != null) {
-            dto.setAttachments(grievance.getAttachments().stream()
+        if (attachments != null) {
+            dto.setAttachments(attachments.stream()
                     .map(AttachmentDTO::fromEntity)
                     .collect(Collectors.toList()));
         }
@@ -25,5 +25,13 @@ public class GrievanceFilter {
     private String contact;
     private String fatherSpouseName;
     private String topic;
+
+    // Applies to name and fatherSpouseName; topic is always a substring match.
+    // Substring is also the default, as it was before the match modes existed.
+    private NameMatch nameMatch = NameMatch.CONTAINS;
+
+    public NameMatch getNameMatch() {
+        return nameMatch != null ? nameMatch : NameMatch.CONTAINS;
+    }
 }
 
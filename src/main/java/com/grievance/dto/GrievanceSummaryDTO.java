@@ -0,0 +1,124 @@
+package com.grievance.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.grievance.entity.Grievance;
+import com.grievance.entity.GrievanceReadModel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * List/search row for a grievance. Leaves out the TEXT columns (address,
+ * grievanceDetails, adminRemarks); use GET /grievances/{id} for the full record.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GrievanceSummaryDTO {
+
+    private Long grievanceId;
+    private String block;
+    private String gp;
+    private String villageSahi;
+    private String wardNo;
+    private String name;
+    private String fatherSpouseName;
+    private String contact;
+    private String topic1;
+    private String topic2;
+    private String topic3;
+    private String topic4;
+    private String topic5;
+    private String agentRemarks;
+    private String agentName;
+    private String workGivenTo;
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate adminDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    private Long collectedById;
+    private String collectedByName;
+    private Long assignedToId;
+    private String assignedToName;
+
+    // Only set when served from the read model
+    private Integer attachmentCount;
+
+    private List<AttachmentDTO> attachments;
+
+    public static GrievanceSummaryDTO fromReadModel(GrievanceReadModel row) {
+        GrievanceSummaryDTO dto = new GrievanceSummaryDTO();
+        dto.setGrievanceId(row.getGrievanceId());
+        dto.setBlock(row.getBlock());
+        dto.setGp(row.getGp());
+        dto.setVillageSahi(row.getVillageSahi());
+        dto.setWardNo(row.getWardNo());
+        dto.setName(row.getName());
+        dto.setFatherSpouseName(row.getFatherSpouseName());
+        dto.setContact(row.getContact());
+        dto.setTopic1(row.getTopic1());
+        dto.setTopic2(row.getTopic2());
+        dto.setTopic3(row.getTopic3());
+        dto.setTopic4(row.getTopic4());
+        dto.setTopic5(row.getTopic5());
+        dto.setAgentRemarks(row.getAgentRemarks());
+        dto.setAgentName(row.getAgentName());
+        dto.setWorkGivenTo(row.getWorkGivenTo());
+        dto.setStatus(row.getStatus());
+        dto.setAdminDate(row.getAdminDate());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setCollectedById(row.getCollectedById());
+        dto.setCollectedByName(row.getCollectedByName());
+        dto.setAssignedToId(row.getAssignedToId());
+        dto.setAssignedToName(row.getAssignedToName());
+        dto.setAttachmentCount(row.getAttachmentCount());
+        return dto;
+    }
+
+    // Used by the criteria constructor projection in GrievanceSummaryRepositoryImpl
+    public GrievanceSummaryDTO(Long grievanceId, String block, String gp, String villageSahi,
+                               String wardNo, String name, String fatherSpouseName, String contact,
+                               String topic1, String topic2, String topic3, String topic4, String topic5,
+                               String agentRemarks, String agentName, String workGivenTo,
+                               Grievance.GrievanceStatus status, LocalDate adminDate,
+                               LocalDateTime createdAt, LocalDateTime updatedAt,
+                               Long collectedById, String collectedByName,
+                               Long assignedToId, String assignedToName) {
+        this.grievanceId = grievanceId;
+        this.block = block;
+        this.gp = gp;
+        this.villageSahi = villageSahi;
+        this.wardNo = wardNo;
+        this.name = name;
+        this.fatherSpouseName = fatherSpouseName;
+        this.contact = contact;
+        this.topic1 = topic1;
+        this.topic2 = topic2;
+        this.topic3 = topic3;
+        this.topic4 = topic4;
+        this.topic5 = topic5;
+        this.agentRemarks = agentRemarks;
+        this.agentName = agentName;
+        this.workGivenTo = workGivenTo;
+        this.status = status != null ? status.name() : null;
+        this.adminDate = adminDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.collectedById = collectedById;
+        this.collectedByName = collectedByName;
+        this.assignedToId = assignedToId;
+        this.assignedToName = assignedToName;
+    }
+}
@@ -0,0 +1,13 @@
+package com.grievance.dto;
+
+/**
+ * How the name / fatherSpouseName filters are matched. CONTAINS is the default.
+ */
+public enum NameMatch {
+    // lower(col) LIKE 'x%' - btree text_pattern_ops index
+    PREFIX,
+    // lower(col) LIKE '%x%' ranked by similarity - pg_trgm GIN index
+    CONTAINS,
+    // phonetic key equality, tolerant of spelling and Odia/Latin script - btree index
+    PHONETIC
+}
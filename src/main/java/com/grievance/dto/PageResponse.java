@@ -0,0 +1,37 @@
+package com.grievance.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offset page whose totals depend on the requested {@link CountMode}.
+ * Field names follow Spring's Page JSON so existing clients keep working;
+ * totalElements/totalPages are omitted when no count was taken.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageResponse<T> {
+
+    private List<T> content;
+    private Integer number;
+    private Integer size;
+    private Boolean first;
+    private Boolean last;
+    private Boolean hasNext;
+
+    private Long totalElements;
+    private Integer totalPages;
+
+    // true when totalElements is a planner estimate rather than a count
+    private Boolean estimated;
+
+    // dimension -> value -> count over the whole filter, when requested
+    private Map<String, Map<String, Long>> facets;
+}
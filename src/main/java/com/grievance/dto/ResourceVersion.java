@@ -0,0 +1,45 @@
+package com.grievance.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Cheap version stamp for conditional GETs: a last-modified time plus a number
+ * that moves with every change. For a detail that is updatedAt and the
+ * attachment count; for a list it is the GrievanceListVersion counter, so no
+ * entity graph or table aggregate is needed to answer If-None-Match.
+ */
+public record ResourceVersion(LocalDateTime lastModified, Long count, String scope) {
+
+    // Used by the JPQL constructor expressions
+    public ResourceVersion(LocalDateTime lastModified, Long count) {
+        this(lastModified, count, null);
+    }
+
+    // Same stamp as GrievanceRepository.findVersionById, taken from a loaded detail
+    public static ResourceVersion of(GrievanceDTO grievance) {
+        return new ResourceVersion(grievance.getUpdatedAt(), grievance.getAttachmentCount());
+    }
+
+    public ResourceVersion scopedTo(Object scope) {
+        return new ResourceVersion(lastModified, count, String.valueOf(scope));
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null
+                ? -1
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Weak ETag over the version and any request qualifiers (paging/query
+     * parameters) that change the representation.
+     */
+    public String etag(Object... qualifiers) {
+        int variant = 31 * String.valueOf(scope).hashCode() + Arrays.deepHashCode(qualifiers);
+        return "W/\"" + Long.toHexString(Math.max(lastModifiedMillis(), 0))
+                + "-" + count
+                + "-" + Integer.toHexString(variant) + "\"";
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -11,8 +13,12 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "grievance_attachments",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"grievance_id", "upload_id"})
+        uniqueConstraints = @UniqueConstraint(columnNames = {"grievance_id", "upload_id"}),
+        indexes = @Index(name = "idx_attachments_grievance_id_attachment_id",
+                columnList = "grievance_id, attachment_id")
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,9 +1,15 @@
 package com.grievance.entity;
 
+import com.grievance.utility.ContactNumbers;
+import com.grievance.utility.PhoneticEncoder;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -15,7 +21,27 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "grievances_excel")
+@Table(
+        name = "grievances_excel",
+        indexes = {
+                @Index(name = "idx_grievances_created_at_id", columnList = "created_at, grievance_id"),
+                @Index(name = "idx_grievances_collected_by_created_at_id",
+                        columnList = "collected_by, created_at, grievance_id"),
+                @Index(name = "idx_grievances_block_gp_ward_created_at",
+                        columnList = "block, gp, ward_no, created_at"),
+                @Index(name = "idx_grievances_block_status_created_at",
+                        columnList = "block, status, created_at"),
+                @Index(name = "idx_grievances_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_grievances_village_sahi", columnList = "village_sahi"),
+                @Index(name = "idx_grievances_contact", columnList = "contact"),
+                @Index(name = "idx_grievances_contact_normalized_created_at",
+                        columnList = "contact_normalized, created_at"),
+                @Index(name = "idx_grievances_name_phonetic", columnList = "name_phonetic"),
+                @Index(name = "idx_grievances_father_spouse_phonetic", columnList = "father_spouse_phonetic")
+        }
+)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,9 +61,6 @@ public class Grievance {
     @Column(name = "village_sahi", length = 150)
     private String villageSahi;
 
-    @Column(columnDefinition = "TEXT")
-    private String address;
-
     @Column(name = "ward_no", length = 20)
     private String wardNo;
 
@@ -47,9 +70,20 @@ public class Grievance {
     @Column(name = "father_spouse_name", length = 150)
     private String fatherSpouseName;
 
+    // Derived from name / fatherSpouseName on every write, see PhoneticEncoder
+    @Column(name = "name_phonetic", length = PhoneticEncoder.MAX_KEY_LENGTH)
+    private String namePhonetic;
+
+    @Column(name = "father_spouse_phonetic", length = PhoneticEncoder.MAX_KEY_LENGTH)
+    private String fatherSpousePhonetic;
+
     @Column(length = 20)
     private String contact;
 
+    // Last ten digits of contact, see ContactNumbers
+    @Column(name = "contact_normalized", length = ContactNumbers.MAX_DIGITS)
+    private String contactNormalized;
+
     @Column(name = "topic_1", length = 500)
     private String topic1;
 
@@ -65,9 +99,6 @@ public class Grievance {
     @Column(name = "topic_5", length = 500)
     private String topic5;
 
-    @Column(name = "grievance_details", columnDefinition = "TEXT")
-    private String grievanceDetails;
-
     @Column(name = "agent_remarks", length = 150)
     private String agentRemarks;
 
@@ -85,9 +116,6 @@ public class Grievance {
     @Column(name = "admin_date")
     private LocalDate adminDate;
 
-    @Column(name = "admin_remarks", columnDefinition = "TEXT")
-    private String adminRemarks;
-
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -96,7 +124,14 @@ public class Grievance {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Every column is written back on update, so a write based on an outdated copy
+    // (e.g. another container's cache entry) must fail rather than overwrite
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "grievance", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Attachment> attachments = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -107,6 +142,54 @@ public class Grievance {
     @JoinColumn(name = "assigned_to")
     private User assignedTo;
 
+    // address, grievanceDetails and adminRemarks live in grievance_texts and are
+    // only read when one of their getters is called
+    @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL, orphanRemoval = true)
+    @PrimaryKeyJoinColumn
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private GrievanceText text;
+
+    public String getAddress() {
+        return text == null ? null : text.getAddress();
+    }
+
+    public void setAddress(String address) {
+        text().setAddress(address);
+    }
+
+    public String getGrievanceDetails() {
+        return text == null ? null : text.getGrievanceDetails();
+    }
+
+    public void setGrievanceDetails(String grievanceDetails) {
+        text().setGrievanceDetails(grievanceDetails);
+    }
+
+    public String getAdminRemarks() {
+        return text == null ? null : text.getAdminRemarks();
+    }
+
+    public void setAdminRemarks(String adminRemarks) {
+        text().setAdminRemarks(adminRemarks);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateDerivedColumns() {
+        namePhonetic = PhoneticEncoder.encode(name);
+        fatherSpousePhonetic = PhoneticEncoder.encode(fatherSpouseName);
+        contactNormalized = ContactNumbers.normalize(contact);
+    }
+
+    private GrievanceText text() {
+        if (text == null) {
+            text = new GrievanceText();
+            text.setGrievance(this);
+        }
+        return text;
+    }
+
     public enum GrievanceStatus {
         PENDING, IN_PROGRESS, COMPLETED, REJECTED, REOPENED
     }
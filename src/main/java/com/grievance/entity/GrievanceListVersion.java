@@ -0,0 +1,33 @@
+package com.grievance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change counter behind the ETag of the grievance listings. Bumped by
+ * GrievanceReadModelProjector in the same transaction as every grievance
+ * change, so a conditional GET reads one row by key instead of aggregating
+ * the table. One row for the whole table plus one per collecting agent.
+ */
+@Entity
+@Table(name = "grievance_list_versions")
+@Data
+@NoArgsConstructor
+public class GrievanceListVersion {
+
+    // scopeId for the unscoped (admin) listing; agent rows use the agent's user id
+    public static final long ALL = 0L;
+
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
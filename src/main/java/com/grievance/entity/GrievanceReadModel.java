@@ -0,0 +1,105 @@
+package com.grievance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized list row for a grievance: summary columns plus the collector /
+ * assignee names and attachment count. Written only by
+ * GrievanceReadModelProjector in the same transaction as the grievance change,
+ * so list screens read a single table.
+ */
+@Entity
+@Table(
+        name = "grievance_read_model",
+        indexes = {
+                @Index(name = "idx_grievance_read_model_created_at_id", columnList = "created_at, grievance_id"),
+                @Index(name = "idx_grievance_read_model_collected_by_created_at_id",
+                        columnList = "collected_by_id, created_at, grievance_id")
+        }
+)
+@Data
+@NoArgsConstructor
+public class GrievanceReadModel {
+
+    // Same id as the source grievance, not generated
+    @Id
+    @Column(name = "grievance_id")
+    private Long grievanceId;
+
+    @Column(length = 100)
+    private String block;
+
+    @Column(length = 100)
+    private String gp;
+
+    @Column(name = "village_sahi", length = 150)
+    private String villageSahi;
+
+    @Column(name = "ward_no", length = 20)
+    private String wardNo;
+
+    @Column(name = "name", length = 150)
+    private String name;
+
+    @Column(name = "father_spouse_name", length = 150)
+    private String fatherSpouseName;
+
+    @Column(length = 20)
+    private String contact;
+
+    @Column(name = "topic_1", length = 500)
+    private String topic1;
+
+    @Column(name = "topic_2", length = 500)
+    private String topic2;
+
+    @Column(name = "topic_3", length = 500)
+    private String topic3;
+
+    @Column(name = "topic_4", length = 500)
+    private String topic4;
+
+    @Column(name = "topic_5", length = 500)
+    private String topic5;
+
+    @Column(name = "agent_remarks", length = 150)
+    private String agentRemarks;
+
+    @Column(name = "agent_name", length = 150)
+    private String agentName;
+
+    @Column(name = "work_given_to", length = 150)
+    private String workGivenTo;
+
+    @Column(length = 50)
+    private String status;
+
+    @Column(name = "admin_date")
+    private LocalDate adminDate;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "collected_by_id")
+    private Long collectedById;
+
+    @Column(name = "collected_by_name")
+    private String collectedByName;
+
+    @Column(name = "assigned_to_id")
+    private Long assignedToId;
+
+    @Column(name = "assigned_to_name")
+    private String assignedToName;
+
+    @Column(name = "attachment_count", nullable = false)
+    private Integer attachmentCount = 0;
+}
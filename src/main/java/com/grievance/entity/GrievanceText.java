@@ -0,0 +1,46 @@
+package com.grievance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Long free-text fields of a grievance, split out of grievances_excel so the
+ * filtered/grouped table stays narrow. Shares the grievance's primary key.
+ */
+@Entity
+@Table(name = "grievance_texts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Data
+@NoArgsConstructor
+public class GrievanceText {
+
+    @Id
+    @Column(name = "grievance_id")
+    private Long grievanceId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "grievance_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Grievance grievance;
+
+    @Column(columnDefinition = "TEXT")
+    private String address;
+
+    @Column(name = "grievance_details", columnDefinition = "TEXT")
+    private String grievanceDetails;
+
+    @Column(name = "admin_remarks", columnDefinition = "TEXT")
+    private String adminRemarks;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
@@ -3,10 +3,18 @@ package com.grievance.repository;
 import com.grievance.entity.Attachment;
 import com.grievance.entity.Grievance;
 import com.grievance.entity.AttachmentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
 
@@ -18,6 +26,38 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
 
     List<Attachment> findByGrievance_GrievanceId(Long grievanceId);
 
+    List<Attachment> findByGrievance_GrievanceIdIn(Collection<Long> grievanceIds);
+
+    // [grievanceId, count] for grievances that have at least one attachment
+    @Query("SELECT a.grievance.grievanceId, COUNT(a) FROM Attachment a " +
+            "WHERE a.grievance.grievanceId IN :ids GROUP BY a.grievance.grievanceId")
+    List<Object[]> countByGrievanceIds(@Param("ids") Collection<Long> ids);
+
+    long countByGrievance_GrievanceId(Long grievanceId);
+
+    // Largest per-grievance attachment count first; sizes the CSV header without loading rows
+    @Query("SELECT COUNT(a) FROM Attachment a WHERE a.grievance.grievanceId IN :ids " +
+            "GROUP BY a.grievance.grievanceId ORDER BY COUNT(a) DESC")
+    List<Long> findTopAttachmentCounts(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+    // [grievanceId, s3Url] in (grievance_id, attachment_id) order, merged alongside the export cursor
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT a.grievance.grievanceId, a.s3Url FROM Attachment a " +
+            "WHERE a.grievance.grievanceId IN :ids ORDER BY a.grievance.grievanceId, a.attachmentId")
+    Stream<Object[]> streamUrlsByGrievanceIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset page in attachment_id order, served by (grievance_id, attachment_id)
+    @Query("SELECT a FROM Attachment a WHERE a.grievance.grievanceId = :grievanceId " +
+            "AND a.attachmentId > :after ORDER BY a.attachmentId")
+    List<Attachment> findPage(@Param("grievanceId") Long grievanceId, @Param("after") Long after,
+                              Pageable pageable);
+
+    @Query("SELECT a FROM Attachment a WHERE a.grievance.grievanceId = :grievanceId " +
+            "AND a.status = :status AND a.attachmentId > :after ORDER BY a.attachmentId")
+    List<Attachment> findPageByStatus(@Param("grievanceId") Long grievanceId,
+                                      @Param("status") AttachmentStatus status,
+                                      @Param("after") Long after, Pageable pageable);
+
     List<Attachment> findByGrievance_GrievanceIdAndStatus(Long grievanceId, AttachmentStatus status);
 
     void deleteByGrievance_GrievanceId(Long grievanceId);
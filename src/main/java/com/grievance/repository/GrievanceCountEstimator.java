@@ -0,0 +1,44 @@
+package com.grievance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Approximate grievance counts from Postgres statistics instead of a COUNT(*) scan.
+ * Reads the statistics of grievance_read_model, the table the listings (and their
+ * EXACT counts) are served from. Returns -1 when no usable estimate exists (e.g.
+ * table never analyzed).
+ */
+@Repository
+@RequiredArgsConstructor
+public class GrievanceCountEstimator {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Table-wide estimate kept by autovacuum/ANALYZE
+    public long estimateAll() {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = 'grievance_read_model'::regclass",
+                Long.class);
+        return estimate == null ? -1 : estimate;
+    }
+
+    // Planner estimate for one agent's rows, from the collected_by_id column statistics
+    public long estimateCollectedBy(Long userId) {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM grievance_read_model WHERE collected_by_id = ?",
+                String.class, userId);
+        if (plan == null) {
+            return -1;
+        }
+        // The first "Plan Rows" belongs to the top plan node
+        Matcher matcher = PLAN_ROWS.matcher(plan);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.grievance.repository;
+
+import com.grievance.entity.GrievanceListVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+
+@Repository
+public interface GrievanceListVersionRepository extends JpaRepository<GrievanceListVersion, Long> {
+
+    // Upsert in scope order so concurrent writers lock the rows in the same order.
+    // The declared query space keeps Hibernate from evicting every cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "grievance_list_versions"))
+    @Query(value = """
+    INSERT INTO grievance_list_versions (scope_id, version, updated_at)
+    SELECT scope_id, 1, now() FROM unnest(ARRAY[:scopes]) AS scope_id ORDER BY scope_id
+    ON CONFLICT (scope_id) DO UPDATE
+        SET version = grievance_list_versions.version + 1, updated_at = now()
+""", nativeQuery = true)
+    int bump(@Param("scopes") Collection<Long> scopes);
+}
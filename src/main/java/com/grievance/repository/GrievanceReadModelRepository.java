@@ -0,0 +1,21 @@
+package com.grievance.repository;
+
+import com.grievance.entity.GrievanceReadModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GrievanceReadModelRepository extends JpaRepository<GrievanceReadModel, Long>,
+        JpaSpecificationExecutor<GrievanceReadModel>, GrievanceReadModelSummaryRepository {
+
+    // Agents whose listing a change to these rows affects
+    @Query("SELECT DISTINCT r.collectedById FROM GrievanceReadModel r " +
+            "WHERE r.grievanceId IN :ids AND r.collectedById IS NOT NULL")
+    List<Long> findCollectedByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,31 @@
+package com.grievance.repository;
+
+import com.grievance.entity.GrievanceReadModel;
+import com.grievance.utility.CursorCodec;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public class GrievanceReadModelSpecification {
+
+    public static Specification<GrievanceReadModel> collectedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("collectedById"), userId);
+    }
+
+    // Same keyset seek as GrievanceSpecification.before, over the read model
+    public static Specification<GrievanceReadModel> before(CursorCodec.Position position) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> grievanceId = root.get("grievanceId");
+
+            return cb.and(
+                    cb.lessThanOrEqualTo(createdAt, position.createdAt()),
+                    cb.or(
+                            cb.lessThan(createdAt, position.createdAt()),
+                            cb.lessThan(grievanceId, position.grievanceId())
+                    )
+            );
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.grievance.repository;
+
+import com.grievance.dto.GrievanceSummaryDTO;
+import com.grievance.entity.GrievanceReadModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Summary rows served from grievance_read_model: one table, no joins.
+ * Mirrors {@link GrievanceSummaryRepository} so callers can switch sources.
+ */
+public interface GrievanceReadModelSummaryRepository {
+
+    // fields limits the selected columns (see FieldSelection); null selects all
+    Page<GrievanceSummaryDTO> findSummaries(Specification<GrievanceReadModel> spec, Pageable pageable,
+                                            Set<String> fields);
+
+    // Fetches one extra row to decide hasNext, so no count query is issued
+    Slice<GrievanceSummaryDTO> findSummarySlice(Specification<GrievanceReadModel> spec, Pageable pageable,
+                                                Set<String> fields);
+
+    List<GrievanceSummaryDTO> findSummaries(Specification<GrievanceReadModel> spec, Sort sort, int limit,
+                                            Set<String> fields);
+}
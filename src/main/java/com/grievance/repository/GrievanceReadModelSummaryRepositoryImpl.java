@@ -0,0 +1,141 @@
+package com.grievance.repository;
+
+import com.grievance.dto.GrievanceSummaryDTO;
+import com.grievance.entity.GrievanceReadModel;
+import com.grievance.utility.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class GrievanceReadModelSummaryRepositoryImpl implements GrievanceReadModelSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<GrievanceSummaryDTO> findSummaries(Specification<GrievanceReadModel> spec, Pageable pageable,
+                                                   Set<String> fields) {
+        List<GrievanceSummaryDTO> content = select(spec, fields, pageable.getSort(),
+                (int) pageable.getOffset(), pageable.getPageSize());
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<GrievanceSummaryDTO> findSummarySlice(Specification<GrievanceReadModel> spec, Pageable pageable,
+                                                       Set<String> fields) {
+        List<GrievanceSummaryDTO> rows = select(spec, fields, pageable.getSort(),
+                (int) pageable.getOffset(), pageable.getPageSize() + 1);
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<GrievanceSummaryDTO> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<GrievanceSummaryDTO> findSummaries(Specification<GrievanceReadModel> spec, Sort sort, int limit,
+                                                   Set<String> fields) {
+        return select(spec, fields, sort, 0, limit);
+    }
+
+    private List<GrievanceSummaryDTO> select(Specification<GrievanceReadModel> spec, Set<String> fields,
+                                             Sort sort, int offset, int limit) {
+        if (fields != null) {
+            return selectFields(spec, fields, sort, offset, limit);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GrievanceReadModel> query = cb.createQuery(GrievanceReadModel.class);
+        Root<GrievanceReadModel> root = query.from(GrievanceReadModel.class);
+        query.select(root);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        // Rows are only mapped, never modified; skip dirty checking
+        return entityManager.createQuery(query)
+                .setHint("org.hibernate.readOnly", true)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(GrievanceSummaryDTO::fromReadModel)
+                .toList();
+    }
+
+    // Read model property names match the summary DTO, so fields map straight to columns
+    private List<GrievanceSummaryDTO> selectFields(Specification<GrievanceReadModel> spec, Set<String> fields,
+                                                   Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<GrievanceReadModel> root = query.from(GrievanceReadModel.class);
+
+        List<String> columns = fields.stream()
+                .filter(field -> !FieldSelection.ATTACHMENTS.equals(field))
+                .toList();
+        query.multiselect(columns.stream().<Selection<?>>map(root::get).toList());
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<GrievanceSummaryDTO> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            GrievanceSummaryDTO dto = new GrievanceSummaryDTO();
+            for (int i = 0; i < columns.size(); i++) {
+                FieldSelection.apply(dto, columns.get(i), row.get(i));
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private long count(Specification<GrievanceReadModel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<GrievanceReadModel> root = query.from(GrievanceReadModel.class);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(Collections.emptyList());
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,28 +1,38 @@
 package com.grievance.repository;
 
+import com.grievance.dto.ResourceVersion;
 import com.grievance.entity.Grievance;
 import com.grievance.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface GrievanceRepository extends JpaRepository<Grievance, Long>, JpaSpecificationExecutor<Grievance> {
+public interface GrievanceRepository extends JpaRepository<Grievance, Long>, JpaSpecificationExecutor<Grievance>,
+        GrievanceSummaryRepository {
 
     Page<Grievance> findByCollectedBy(User collectedBy, Pageable pageable);
 
-    @EntityGraph(attributePaths = "attachments")
-    List<Grievance> findAll(Specification<Grievance> spec);
+    // Load for a write: the row and its text come from the database, never from the
+    // second-level cache, which may hold an older copy than another container committed
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheMode", value = "REFRESH"))
+    @Query("SELECT g FROM Grievance g LEFT JOIN FETCH g.text WHERE g.grievanceId = :id")
+    Optional<Grievance> findForUpdateById(@Param("id") Long id);
 
     List<Grievance> findByBlock(String block);
 
@@ -42,77 +52,12 @@ public interface GrievanceRepository extends JpaRepository<Grievance, Long>, Jpa
                                   @Param("villageSahi") String villageSahi,
                                   @Param("name") String name);*/
 
-    @Query("""
-SELECT g FROM Grievance g
-WHERE g.block = COALESCE(:block, g.block)
-AND g.gp = COALESCE(:gp, g.gp)
-AND g.villageSahi = COALESCE(:villageSahi, g.villageSahi)
-AND g.wardNo = COALESCE(:wardNo, g.wardNo)
-AND g.createdAt >= COALESCE(:startOfDay, g.createdAt)
-  AND g.createdAt < COALESCE(:endOfDay, g.createdAt)
-  AND g.contact = COALESCE(:contact, g.contact)
-  AND g.fatherSpouseName ILIKE CONCAT('%', COALESCE(:fatherSpouseName, ''), '%')
-AND g.status = :status
-AND g.name ILIKE CONCAT('%', COALESCE(:name, ''), '%')
-""")
-    List<Grievance> findWithStatus(
-            @Param("block") String block,
-            @Param("gp") String gp,
-            @Param("villageSahi") String villageSahi,
-            @Param("wardNo") String wardNo,
-            @Param("startOfDay") LocalDateTime startOfDay,
-            @Param("endOfDay") LocalDateTime endOfDay,
-            @Param("contact") String contact,
-            @Param("fatherSpouseName") String fatherSpouseName,
-            @Param("status") Grievance.GrievanceStatus status,
-            @Param("name") String name
-    );
-
-    @Query("""
-SELECT g FROM Grievance g
-WHERE g.block = COALESCE(:block, g.block)
-AND g.gp = COALESCE(:gp, g.gp)
-AND g.villageSahi = COALESCE(:villageSahi, g.villageSahi)
-AND g.wardNo = COALESCE(:wardNo, g.wardNo)
-AND g.createdAt >= COALESCE(:startOfDay, g.createdAt)
-AND g.createdAt < COALESCE(:endOfDay, g.createdAt)
-AND g.contact = COALESCE(:contact, g.contact)
-AND g.fatherSpouseName ILIKE CONCAT('%', COALESCE(:fatherSpouseName, ''), '%')
-AND g.name ILIKE CONCAT('%', COALESCE(:name, ''), '%')
-""")
-    List<Grievance> findWithoutStatus(
-            @Param("block") String block,
-            @Param("gp") String gp,
-            @Param("villageSahi") String villageSahi,
-            @Param("wardNo") String wardNo,
-            @Param("startOfDay") LocalDateTime startOfDay,
-            @Param("endOfDay") LocalDateTime endOfDay,
-            @Param("contact") String contact,
-            @Param("fatherSpouseName") String fatherSpouseName,
-            @Param("name") String name
-    );
-
-    List<Grievance> findTop10ByOrderByUpdatedAtDesc();
-
     @Query("SELECT COUNT(g) FROM Grievance g WHERE g.collectedBy = :agent")
     Long countByAgent(User agent);
 
     @Query("SELECT COUNT(g) FROM Grievance g WHERE g.status = :status AND g.collectedBy = :agent")
     Long countByStatusAndAgent(Grievance.GrievanceStatus status, User agent);
 
-    @Query("""
-SELECT g
-FROM Grievance g
-WHERE g.createdAt >= :startOfDay
-  AND g.createdAt < :startOfNextDay
-  AND g.collectedBy = :agent
-""")
-    List<Grievance> countTodayByAgent(
-            @Param("startOfDay") LocalDateTime startOfDay,
-            @Param("startOfNextDay") LocalDateTime startOfNextDay,
-            @Param("agent") User agent
-    );
-
 
     @Query("SELECT g.block, COUNT(g) FROM Grievance g GROUP BY g.block")
     List<Object[]> countByBlock();
@@ -130,8 +75,104 @@ WHERE g.createdAt >= :startOfDay
     SELECT DISTINCT g
     FROM Grievance g
     LEFT JOIN FETCH g.attachments a
+    LEFT JOIN FETCH g.text
     WHERE g.id IN :ids
 """)
     List<Grievance> findAllWithAttachmentsByIdIn(@Param("ids") List<Long> ids);
 
+    // Forward-only cursor for the CSV export; caller must consume it inside a transaction
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("""
+    SELECT g
+    FROM Grievance g
+    LEFT JOIN FETCH g.text
+    WHERE g.grievanceId IN :ids
+    ORDER BY g.grievanceId
+""")
+    Stream<Grievance> streamForExportByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+    SELECT g
+    FROM Grievance g
+    LEFT JOIN FETCH g.collectedBy
+    LEFT JOIN FETCH g.assignedTo
+    WHERE g.grievanceId IN :ids
+""")
+    List<Grievance> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Detail fetch plan: users and text in the same query
+    @Query("""
+    SELECT g
+    FROM Grievance g
+    LEFT JOIN FETCH g.collectedBy
+    LEFT JOIN FETCH g.assignedTo
+    LEFT JOIN FETCH g.text
+    WHERE g.grievanceId = :id
+""")
+    Optional<Grievance> findDetailById(@Param("id") Long id);
+
+    long countByGrievanceIdIn(Collection<Long> grievanceIds);
+
+    // Full records for the batch read: users plus the split-out text fields
+    @Query("""
+    SELECT g
+    FROM Grievance g
+    LEFT JOIN FETCH g.collectedBy
+    LEFT JOIN FETCH g.assignedTo
+    LEFT JOIN FETCH g.text
+    WHERE g.grievanceId IN :ids
+""")
+    List<Grievance> findAllWithUsersAndTextByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Version stamps for conditional GETs; aggregates only, no entity loading
+    @Query("""
+    SELECT new com.grievance.dto.ResourceVersion(g.updatedAt, COUNT(a))
+    FROM Grievance g
+    LEFT JOIN g.attachments a
+    WHERE g.grievanceId = :id
+    GROUP BY g.grievanceId, g.updatedAt
+""")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    // [grievanceId, name, fatherSpouseName] in id order, for the phonetic key backfill
+    @Query("SELECT g.grievanceId, g.name, g.fatherSpouseName FROM Grievance g " +
+            "WHERE g.grievanceId > :after ORDER BY g.grievanceId")
+    List<Object[]> findNamesAfter(@Param("after") Long after, Pageable pageable);
+
+    // Bulk update so the backfill neither bumps updatedAt nor publishes change events
+    @Modifying
+    @Query("UPDATE Grievance g SET g.namePhonetic = :name, g.fatherSpousePhonetic = :fatherSpouse " +
+            "WHERE g.grievanceId = :id")
+    int setPhoneticKeys(@Param("id") Long id, @Param("name") String name,
+                        @Param("fatherSpouse") String fatherSpouse);
+
+    // [status, count, first createdAt, last createdAt] for one citizen
+    @Query("SELECT g.status, COUNT(g), MIN(g.createdAt), MAX(g.createdAt) FROM Grievance g " +
+            "WHERE g.contactNormalized = :contact GROUP BY g.status")
+    List<Object[]> summarizeByContact(@Param("contact") String contact);
+
+    // [value, count] per distinct value, used to seed autocomplete
+    @Query("SELECT g.name, COUNT(g) FROM Grievance g WHERE g.name IS NOT NULL GROUP BY g.name")
+    List<Object[]> countGroupedByName();
+
+    @Query("SELECT g.villageSahi, COUNT(g) FROM Grievance g WHERE g.villageSahi IS NOT NULL GROUP BY g.villageSahi")
+    List<Object[]> countGroupedByVillageSahi();
+
+    @Query("SELECT g.gp, COUNT(g) FROM Grievance g WHERE g.gp IS NOT NULL GROUP BY g.gp")
+    List<Object[]> countGroupedByGp();
+
+    // Keyset chunks for walking the whole table in id order, texts included
+    @Query("""
+    SELECT g
+    FROM Grievance g
+    LEFT JOIN FETCH g.text
+    WHERE g.grievanceId > :grievanceId
+    ORDER BY g.grievanceId ASC
+""")
+    List<Grievance> findByGrievanceIdGreaterThanOrderByGrievanceIdAsc(@Param("grievanceId") Long grievanceId,
+                                                                      Pageable pageable);
+
 }
\ No newline at end of file
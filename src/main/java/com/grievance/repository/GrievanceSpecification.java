@@ -2,73 +2,193 @@ package com.grievance.repository;
 
 
 import com.grievance.dto.GrievanceFilter;
+import com.grievance.dto.NameMatch;
 import com.grievance.entity.Grievance;
+import com.grievance.entity.User;
+import com.grievance.utility.ContactNumbers;
+import com.grievance.utility.CursorCodec;
+import com.grievance.utility.PhoneticEncoder;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 
 public class GrievanceSpecification {
 
+    /**
+     * Builds the search predicate, emitting only the filters that were supplied.
+     * Every predicate has a shape an index can serve: equality on
+     * block/gp/villageSahi/wardNo/contact (normalized)/status and a half-open range
+     * on createdAt use btree indexes (see db/migration/V1__grievance_filter_indexes.sql).
+     * name/fatherSpouseName are substring matches by default (NameMatch.CONTAINS);
+     * those and topic are served by the pg_trgm GIN indexes in
+     * V2__trigram_search_indexes.sql, and rows are ordered by similarity unless
+     * the caller sorts explicitly. NameMatch.PREFIX opts into a prefix LIKE on the
+     * text_pattern_ops indexes from V1.
+     * NameMatch.PHONETIC compares precomputed keys (see PhoneticEncoder and
+     * V6__phonetic_name_keys.sql), so it is an index lookup as well.
+     */
     public static Specification<Grievance> filter(GrievanceFilter f) {
         return (root, query, cb) -> {
 
             List<Predicate> predicates = new ArrayList<>();
 
-            if (f.getBlock() != null)
+            if (StringUtils.hasText(f.getBlock()))
                 predicates.add(cb.equal(root.get("block"), f.getBlock()));
 
-            if (f.getGp() != null)
+            if (StringUtils.hasText(f.getGp()))
                 predicates.add(cb.equal(root.get("gp"), f.getGp()));
 
-            if (f.getWardNo() != null)
-                predicates.add(cb.equal(root.get("wardNo"), f.getWardNo()));
+            if (StringUtils.hasText(f.getVillageSahi()))
+                predicates.add(cb.equal(root.get("villageSahi"), f.getVillageSahi()));
 
-            if (f.getContact() != null)
-                predicates.add(cb.equal(root.get("contact"), f.getContact()));
+            if (StringUtils.hasText(f.getWardNo()))
+                predicates.add(cb.equal(root.get("wardNo"), f.getWardNo()));
 
-            if (f.getFatherSpouseName() != null)
-                predicates.add(cb.like(
-                        cb.lower(root.get("fatherSpouseName")),
-                        "%" + f.getFatherSpouseName().toLowerCase() + "%"
-                ));
+            if (StringUtils.hasText(f.getContact())) {
+                String contact = ContactNumbers.normalize(f.getContact());
+                predicates.add(contact == null ? cb.disjunction() : cb.equal(root.get("contactNormalized"), contact));
+            }
 
             if (f.getStatus() != null)
                 predicates.add(cb.equal(root.get("status"), f.getStatus()));
 
-            if (f.getName() != null)
+            boolean contains = f.getNameMatch() == NameMatch.CONTAINS;
+            boolean phonetic = f.getNameMatch() == NameMatch.PHONETIC;
+
+            if (phonetic && StringUtils.hasText(f.getName()))
+                predicates.add(phoneticEqual(cb, root.get("namePhonetic"), f.getName()));
+
+            if (phonetic && StringUtils.hasText(f.getFatherSpouseName()))
+                predicates.add(phoneticEqual(cb, root.get("fatherSpousePhonetic"), f.getFatherSpouseName()));
+
+            if (!phonetic && StringUtils.hasText(f.getName()))
                 predicates.add(cb.like(
                         cb.lower(root.get("name")),
-                        "%" + f.getName().toLowerCase() + "%"
+                        contains ? containsPattern(f.getName()) : prefixPattern(f.getName()),
+                        LIKE_ESCAPE
                 ));
 
-            if (f.getStartDate() != null && f.getEndDate() != null) {
-                predicates.add(cb.between(
-                        root.get("createdAt"),
-                        f.getStartDate().atStartOfDay(),
-                        f.getEndDate().plusDays(1).atStartOfDay()
+            if (!phonetic && StringUtils.hasText(f.getFatherSpouseName()))
+                predicates.add(cb.like(
+                        cb.lower(root.get("fatherSpouseName")),
+                        contains ? containsPattern(f.getFatherSpouseName()) : prefixPattern(f.getFatherSpouseName()),
+                        LIKE_ESCAPE
                 ));
+
+            if (contains && !Long.class.equals(query.getResultType())) {
+                String rankedBy = StringUtils.hasText(f.getName()) ? "name"
+                        : StringUtils.hasText(f.getFatherSpouseName()) ? "fatherSpouseName"
+                        : null;
+
+                if (rankedBy != null) {
+                    String term = normalize("name".equals(rankedBy) ? f.getName() : f.getFatherSpouseName());
+                    query.orderBy(
+                            cb.desc(cb.function("similarity", Double.class,
+                                    cb.lower(root.get(rankedBy)), cb.literal(term))),
+                            cb.desc(root.get("createdAt")),
+                            cb.desc(root.get("grievanceId"))
+                    );
+                }
             }
 
-            if (f.getTopic() != null && !f.getTopic().isBlank()) {
+            if (f.getStartDate() != null)
+                predicates.add(cb.greaterThanOrEqualTo(
+                        root.get("createdAt"), f.getStartDate().atStartOfDay()));
+
+            if (f.getEndDate() != null)
+                predicates.add(cb.lessThan(
+                        root.get("createdAt"), f.getEndDate().plusDays(1).atStartOfDay()));
 
-                String pattern = "%" + f.getTopic().toLowerCase() + "%";
+            if (StringUtils.hasText(f.getTopic())) {
+
+                String pattern = containsPattern(f.getTopic());
 
                 Predicate topic1 =
-                        cb.like(cb.lower(root.get("topic1")), pattern);
+                        cb.like(cb.lower(root.get("topic1")), pattern, LIKE_ESCAPE);
 
                 Predicate topic2 =
-                        cb.like(cb.lower(root.get("topic2")), pattern);
+                        cb.like(cb.lower(root.get("topic2")), pattern, LIKE_ESCAPE);
 
                 Predicate topic3 =
-                        cb.like(cb.lower(root.get("topic3")), pattern);
+                        cb.like(cb.lower(root.get("topic3")), pattern, LIKE_ESCAPE);
+
+                Predicate topic4 =
+                        cb.like(cb.lower(root.get("topic4")), pattern, LIKE_ESCAPE);
 
-                predicates.add(cb.or(topic1, topic2, topic3));
+                Predicate topic5 =
+                        cb.like(cb.lower(root.get("topic5")), pattern, LIKE_ESCAPE);
+
+                predicates.add(cb.or(topic1, topic2, topic3, topic4, topic5));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // A name with no encodable letters can only match nothing
+    private static Predicate phoneticEqual(CriteriaBuilder cb, Path<String> column, String value) {
+        String key = PhoneticEncoder.encode(value);
+        return key == null ? cb.disjunction() : cb.equal(column, key);
+    }
+
+    private static String prefixPattern(String value) {
+        return escapeLike(normalize(value)) + "%";
+    }
+
+    private static String containsPattern(String value) {
+        return "%" + escapeLike(normalize(value)) + "%";
+    }
+
+    // User input must not be able to inject LIKE wildcards
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    public static Specification<Grievance> contactNormalized(String contact) {
+        return (root, query, cb) -> cb.equal(root.get("contactNormalized"), contact);
+    }
+
+    public static Specification<Grievance> collectedBy(User agent) {
+        return (root, query, cb) -> cb.equal(root.get("collectedBy"), agent);
+    }
+
+    public static Specification<Grievance> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("createdAt"), from),
+                cb.lessThan(root.get("createdAt"), to)
+        );
+    }
+
+    // Keyset seek for (createdAt DESC, grievanceId DESC) ordering.
+    // The redundant "createdAt <= x" lets the planner range-scan the index.
+    public static Specification<Grievance> before(CursorCodec.Position position) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> grievanceId = root.get("grievanceId");
+
+            return cb.and(
+                    cb.lessThanOrEqualTo(createdAt, position.createdAt()),
+                    cb.or(
+                            cb.lessThan(createdAt, position.createdAt()),
+                            cb.lessThan(grievanceId, position.grievanceId())
+                    )
+            );
+        };
+    }
 }
 
@@ -0,0 +1,36 @@
+package com.grievance.repository;
+
+import com.grievance.dto.GrievanceSummaryDTO;
+import com.grievance.entity.Grievance;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Summary projections over grievances. Selects only the narrow columns plus the
+ * collector/assignee names, so list screens never read the TEXT columns or
+ * hydrate entities.
+ */
+public interface GrievanceSummaryRepository {
+
+    default Page<GrievanceSummaryDTO> findSummaries(Specification<Grievance> spec, Pageable pageable) {
+        return findSummaries(spec, pageable, null);
+    }
+
+    // fields limits the selected columns (see FieldSelection); null selects all
+    Page<GrievanceSummaryDTO> findSummaries(Specification<Grievance> spec, Pageable pageable, Set<String> fields);
+
+    // Fetches one extra row to decide hasNext, so no count query is issued
+    Slice<GrievanceSummaryDTO> findSummarySlice(Specification<Grievance> spec, Pageable pageable);
+
+    List<GrievanceSummaryDTO> findSummaries(Specification<Grievance> spec, Sort sort, int limit);
+
+    // Counts by status, block and gp for the rows matching spec, keyed by dimension
+    Map<String, Map<String, Long>> findFacetCounts(Specification<Grievance> spec);
+}
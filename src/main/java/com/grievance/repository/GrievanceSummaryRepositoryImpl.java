@@ -0,0 +1,239 @@
+package com.grievance.repository;
+
+import com.grievance.dto.GrievanceSummaryDTO;
+import com.grievance.entity.Grievance;
+import com.grievance.entity.User;
+import com.grievance.utility.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class GrievanceSummaryRepositoryImpl implements GrievanceSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<GrievanceSummaryDTO> findSummaries(Specification<Grievance> spec, Pageable pageable,
+                                                   Set<String> fields) {
+        List<GrievanceSummaryDTO> content = fields == null
+                ? select(spec, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize())
+                : selectFields(spec, fields, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize());
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<GrievanceSummaryDTO> findSummarySlice(Specification<Grievance> spec, Pageable pageable) {
+        List<GrievanceSummaryDTO> rows = select(spec, pageable.getSort(),
+                (int) pageable.getOffset(), pageable.getPageSize() + 1);
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<GrievanceSummaryDTO> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<GrievanceSummaryDTO> findSummaries(Specification<Grievance> spec, Sort sort, int limit) {
+        return select(spec, sort, 0, limit);
+    }
+
+    private List<GrievanceSummaryDTO> select(Specification<Grievance> spec, Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GrievanceSummaryDTO> query = cb.createQuery(GrievanceSummaryDTO.class);
+        Root<Grievance> root = query.from(Grievance.class);
+        Join<Grievance, User> collectedBy = root.join("collectedBy", JoinType.LEFT);
+        Join<Grievance, User> assignedTo = root.join("assignedTo", JoinType.LEFT);
+
+        query.select(cb.construct(GrievanceSummaryDTO.class,
+                root.get("grievanceId"),
+                root.get("block"),
+                root.get("gp"),
+                root.get("villageSahi"),
+                root.get("wardNo"),
+                root.get("name"),
+                root.get("fatherSpouseName"),
+                root.get("contact"),
+                root.get("topic1"),
+                root.get("topic2"),
+                root.get("topic3"),
+                root.get("topic4"),
+                root.get("topic5"),
+                root.get("agentRemarks"),
+                root.get("agentName"),
+                root.get("workGivenTo"),
+                root.get("status"),
+                root.get("adminDate"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                collectedBy.get("id"),
+                collectedBy.get("name"),
+                assignedTo.get("id"),
+                assignedTo.get("name")
+        ));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Tuple projection of only the requested summary columns; joins users only when needed
+    private List<GrievanceSummaryDTO> selectFields(Specification<Grievance> spec, Set<String> fields,
+                                                   Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Grievance> root = query.from(Grievance.class);
+
+        Join<Grievance, User> collectedBy = null;
+        Join<Grievance, User> assignedTo = null;
+        List<String> columns = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+
+        for (String field : fields) {
+            Path<?> path;
+            switch (field) {
+                case FieldSelection.ATTACHMENTS -> {
+                    continue;
+                }
+                case "collectedById", "collectedByName" -> {
+                    if (collectedBy == null) {
+                        collectedBy = root.join("collectedBy", JoinType.LEFT);
+                    }
+                    path = collectedBy.get(field.equals("collectedById") ? "id" : "name");
+                }
+                case "assignedToId", "assignedToName" -> {
+                    if (assignedTo == null) {
+                        assignedTo = root.join("assignedTo", JoinType.LEFT);
+                    }
+                    path = assignedTo.get(field.equals("assignedToId") ? "id" : "name");
+                }
+                case "attachmentCount" -> throw new IllegalArgumentException(
+                        "attachmentCount is not available on this endpoint");
+                default -> path = root.get(field);
+            }
+            columns.add(field);
+            selections.add(path);
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<GrievanceSummaryDTO> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            GrievanceSummaryDTO dto = new GrievanceSummaryDTO();
+            for (int i = 0; i < columns.size(); i++) {
+                FieldSelection.apply(dto, columns.get(i), row.get(i));
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * One GROUP BY status, block, gp over the filtered rows, rolled up per
+     * dimension in memory. The combination count is small (statuses x gps),
+     * so this replaces one count query per dimension.
+     */
+    @Override
+    public Map<String, Map<String, Long>> findFacetCounts(Specification<Grievance> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Grievance> root = query.from(Grievance.class);
+
+        Path<Grievance.GrievanceStatus> status = root.get("status");
+        Path<String> block = root.get("block");
+        Path<String> gp = root.get("gp");
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        query.multiselect(status, block, gp, cb.count(root));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(status, block, gp);
+        // Drop any ranking order the specification added
+        query.orderBy(Collections.emptyList());
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("status", new TreeMap<>());
+        facets.put("block", new TreeMap<>());
+        facets.put("gp", new TreeMap<>());
+
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            long count = row.get(3, Long.class);
+            Grievance.GrievanceStatus rowStatus = row.get(0, Grievance.GrievanceStatus.class);
+
+            addFacet(facets.get("status"), rowStatus != null ? rowStatus.name() : null, count);
+            addFacet(facets.get("block"), row.get(1, String.class), count);
+            addFacet(facets.get("gp"), row.get(2, String.class), count);
+        }
+        return facets;
+    }
+
+    private static void addFacet(Map<String, Long> counts, String value, long count) {
+        if (value != null) {
+            counts.merge(value, count, Long::sum);
+        }
+    }
+
+    private long count(Specification<Grievance> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Grievance> root = query.from(Grievance.class);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // A specification may have added ordering, which a count cannot use
+        query.orderBy(Collections.emptyList());
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -3,6 +3,8 @@ package com.grievance.repository;
 import com.grievance.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,6 +17,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     int findAgentCountByAdmin(String adminId);
 
     Optional<User> findByContact(String contact);
+
+    // Authentication lookup: always read from the database (and refresh the cached
+    // entity), so deactivation or a role change applies on the next request everywhere
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheMode", value = "REFRESH"))
     Optional<User> findByName(String name);
 
     List<User> findByRole(User.Role role);
@@ -8,13 +8,15 @@ import com.grievance.exception.ResourceNotFoundException;
 import com.grievance.repository.AttachmentRepository;
 import com.grievance.repository.GrievanceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -26,18 +28,55 @@ public class AttachmentService {
     private final AttachmentRepository attachmentRepository;
     private final GrievanceRepository grievanceRepository;
     private final S3Service s3Service;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     private static final int PRESIGN_EXPIRY_SECONDS = 15 * 60;
 
     // generate single presigned upload (idempotent)
-    @Transactional
     public PresignedUploadResponse generatePresignedUpload(PresignedUploadRequest req) {
         //validate content type
         s3Service.validateContentType(req.getFileName(), req.getContentType());
-        // validate grievance exists
-        Grievance grievance = grievanceRepository.findById(Long.valueOf(req.getGrievanceId()))
-                .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
 
+        Attachment saved = transactionTemplate.execute(status -> {
+            // validate grievance exists
+            Grievance grievance = grievanceRepository.findForUpdateById(Long.valueOf(req.getGrievanceId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
+            return registerUpload(grievance, req);
+        });
+
+        // Signed after commit so no connection is held meanwhile
+        return presign(saved, req.getContentType());
+    }
+
+    // bulk presign
+    public BulkPresignResponse generateBulkPresigned(BulkPresignRequest req) {
+        for (PresignedUploadRequest fileReq : req.getFiles()) {
+            s3Service.validateContentType(fileReq.getFileName(), fileReq.getContentType());
+        }
+
+        List<Attachment> saved = transactionTemplate.execute(status -> {
+            Grievance grievance = grievanceRepository.findForUpdateById(Long.valueOf(req.getGrievanceId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
+
+            List<Attachment> attachments = new ArrayList<>();
+            for (PresignedUploadRequest fileReq : req.getFiles()) {
+                fileReq.setGrievanceId(req.getGrievanceId());
+                attachments.add(registerUpload(grievance, fileReq));
+            }
+            return attachments;
+        });
+
+        List<PresignedUploadResponse> responses = new ArrayList<>();
+        for (int i = 0; i < saved.size(); i++) {
+            responses.add(presign(saved.get(i), req.getFiles().get(i).getContentType()));
+        }
+
+        return new BulkPresignResponse(responses);
+    }
+
+    // Finds or creates the PENDING row for grievance + uploadId
+    private Attachment registerUpload(Grievance grievance, PresignedUploadRequest req) {
         String uploadId = req.getUploadId() == null ? UUID.randomUUID().toString() : req.getUploadId();
 
         // deterministic key
@@ -46,7 +85,7 @@ public class AttachmentService {
         String s3Url = s3Service.generateFileUrl(key);
 
         // check existing DB row by grievance+uploadId
-        Attachment saved = attachmentRepository.findByGrievance_GrievanceIdAndUploadId(grievance.getGrievanceId(), uploadId)
+        return attachmentRepository.findByGrievance_GrievanceIdAndUploadId(grievance.getGrievanceId(), uploadId)
                 .orElseGet(() -> {
                     Attachment a = new Attachment();
                     a.setGrievance(grievance);
@@ -56,66 +95,64 @@ public class AttachmentService {
                     a.setFileName(req.getFileName());
                     a.setFileType(req.getFileType());
                     a.setStatus(AttachmentStatus.PENDING);
+                    touch(grievance);
+                    eventPublisher.publishEvent(GrievanceChangedEvent.updated(grievance.getGrievanceId()));
                     return attachmentRepository.save(a);
                 });
-
-        String presignedUrl = s3Service.generatePresignedPutUrl(key, req.getContentType(), PRESIGN_EXPIRY_SECONDS);
-
-        return new PresignedUploadResponse(uploadId, key, presignedUrl, saved.getFileName(), saved.getFileType());
     }
 
-    // bulk presign
-    @Transactional
-    public BulkPresignResponse generateBulkPresigned(BulkPresignRequest req) {
-        Grievance grievance = grievanceRepository.findById(Long.valueOf(req.getGrievanceId()))
-                .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
-
-        List<PresignedUploadResponse> responses = new ArrayList<>();
-
-        for (PresignedUploadRequest fileReq : req.getFiles()) {
-            fileReq.setGrievanceId(req.getGrievanceId());
-            PresignedUploadResponse resp = generatePresignedUpload(fileReq);
-            responses.add(resp);
-        }
+    private PresignedUploadResponse presign(Attachment attachment, String contentType) {
+        String presignedUrl = s3Service.generatePresignedPutUrl(
+                attachment.getS3Key(), contentType, PRESIGN_EXPIRY_SECONDS);
 
-        return new BulkPresignResponse(responses);
+        return new PresignedUploadResponse(attachment.getUploadId(), attachment.getS3Key(), presignedUrl,
+                attachment.getFileName(), attachment.getFileType());
     }
 
     // confirm upload: HEAD S3 & mark uploaded
-    @Transactional
     public boolean confirmUpload(String uploadId) {
         Attachment attachment = attachmentRepository.findByUploadId(uploadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment (uploadId) not found"));
 
-        // HEAD S3
+        // HEAD S3, between two short transactions rather than inside one
         HeadObjectResponse head = s3Service.headObject(attachment.getS3Key());
         if (head == null) {
             // not uploaded yet
             return false;
         }
 
-        // set s3Url, size, status
-        attachment.setS3Url(s3Service.generateFileUrl(attachment.getS3Key()));
-        attachment.setFileSize(head.contentLength());
-        attachment.setStatus(AttachmentStatus.UPLOADED);
-        attachmentRepository.save(attachment);
+        transactionTemplate.executeWithoutResult(status -> {
+            Attachment current = attachmentRepository.findById(attachment.getAttachmentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Attachment (uploadId) not found"));
+
+            // set s3Url, size, status
+            current.setS3Url(s3Service.generateFileUrl(current.getS3Key()));
+            current.setFileSize(head.contentLength());
+            current.setStatus(AttachmentStatus.UPLOADED);
+            attachmentRepository.save(current);
+            Long grievanceId = current.getGrievance().getGrievanceId();
+            touch(grievanceRepository.findForUpdateById(grievanceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Grievance not found")));
+            eventPublisher.publishEvent(GrievanceChangedEvent.updated(grievanceId));
+        });
         return true;
     }
 
     // fallback server-side upload for MultipartFile[] - admin usage
-    @Transactional
     public AttachmentUploadResponseDTO uploadFilesServerSide(MultipartFile[] files, String grievanceId, String fileType) throws IOException {
-        Grievance grievance = grievanceRepository.findById(Long.valueOf(grievanceId))
-                .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
+        Long id = Long.valueOf(grievanceId);
+        if (!grievanceRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Grievance not found");
+        }
 
-        List<AttachmentUploadItemDTO> responseList = new ArrayList<>();
+        // Upload first, outside any transaction; rows are written in one go afterwards
+        List<Attachment> uploaded = new ArrayList<>();
         for (MultipartFile f : files) {
             String uploadId = UUID.randomUUID().toString();
-            String key = buildKey(String.valueOf(grievance.getGrievanceId()), uploadId, f.getOriginalFilename());
+            String key = buildKey(String.valueOf(id), uploadId, f.getOriginalFilename());
             String s3Url = s3Service.uploadFile(f, key);
 
             Attachment a = new Attachment();
-            a.setGrievance(grievance);
             a.setUploadId(uploadId);
             a.setS3Key(key);
             a.setS3Url(s3Url);
@@ -123,29 +160,50 @@ public class AttachmentService {
             a.setFileType(fileType);
             a.setFileSize(f.getSize());
             a.setStatus(AttachmentStatus.UPLOADED);
-
-            Attachment saved = attachmentRepository.save(a);
-
-            responseList.add(
-                    new AttachmentUploadItemDTO(
-                            saved.getAttachmentId(),
-                            saved.getUploadId(),
-                            saved.getFileName(),
-                            saved.getFileType(),
-                            saved.getFileSize(),
-                            saved.getS3Url(),
-                            saved.getStatus().name()
-                    )
-            );
+            uploaded.add(a);
         }
+
+        List<AttachmentUploadItemDTO> responseList = transactionTemplate.execute(status -> {
+            Grievance grievance = grievanceRepository.findForUpdateById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
+
+            List<AttachmentUploadItemDTO> items = new ArrayList<>();
+            for (Attachment a : uploaded) {
+                a.setGrievance(grievance);
+                Attachment saved = attachmentRepository.save(a);
+
+                items.add(
+                        new AttachmentUploadItemDTO(
+                                saved.getAttachmentId(),
+                                saved.getUploadId(),
+                                saved.getFileName(),
+                                saved.getFileType(),
+                                saved.getFileSize(),
+                                saved.getS3Url(),
+                                saved.getStatus().name()
+                        )
+                );
+            }
+            touch(grievance);
+            eventPublisher.publishEvent(GrievanceChangedEvent.updated(id));
+            return items;
+        });
+
         return new AttachmentUploadResponseDTO(
                 "Files uploaded successfully",
-                grievance.getGrievanceId(),
+                id,
                 responseList.size(),
                 responseList
         );
     }
 
+    // Bumps the parent's version stamp through the entity rather than a bulk UPDATE, so
+    // only this grievance's cache entry changes and the managed instance sees the new value.
+    // Callers pass an instance from findForUpdateById: every column is written back.
+    private void touch(Grievance grievance) {
+        grievance.setUpdatedAt(LocalDateTime.now());
+    }
+
     private String buildKey(String grievanceId, String uploadId, String originalFileName) {
         String sanitized = originalFileName == null ? "file" : originalFileName.replaceAll("[^a-zA-Z0-9.\\-]", "_");
         return String.format("grievances/%s/%s_%s", grievanceId, uploadId, sanitized);
@@ -75,6 +75,11 @@ public class AuthService {
             throw new UnauthorizedException("User not authenticated");
         }
 
+        // The JWT filter loaded this user from the database for the current request
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+
         String name = authentication.getName();
         return userRepository.findByName(name)
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
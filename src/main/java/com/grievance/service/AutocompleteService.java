@@ -0,0 +1,189 @@
+package com.grievance.service;
+
+import com.grievance.config.ShardRegistry;
+import com.grievance.entity.User;
+import com.grievance.repository.GrievanceRepository;
+import com.grievance.utility.PrefixTrie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory prefix suggestions for the name, villageSahi and gp inputs,
+ * ranked by how many grievances use each value. Built from grouped counts
+ * once the application is ready and kept current from GrievanceChangedEvent.
+ * Changes committed while the index builds are queued and replayed once the
+ * counts are loaded, so a value written mid-build is not lost. The tries are
+ * global, so citizen names are only suggested to admins.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    public enum Field {
+        NAME(GrievanceChangedEvent.Values::name),
+        VILLAGE_SAHI(GrievanceChangedEvent.Values::villageSahi),
+        GP(GrievanceChangedEvent.Values::gp);
+
+        private final Function<GrievanceChangedEvent.Values, String> getter;
+
+        Field(Function<GrievanceChangedEvent.Values, String> getter) {
+            this.getter = getter;
+        }
+    }
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private record Counts(List<Object[]> names, List<Object[]> villageSahis, List<Object[]> gps) {
+    }
+
+    private record PendingChange(long committedAt, GrievanceChangedEvent event) {
+    }
+
+    private final GrievanceRepository grievanceRepository;
+    private final AuthService authService;
+    private final ShardRegistry shardRegistry;
+    private final ShardExecutor shardExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${autocomplete.max-nodes-per-field:150000}")
+    private int maxNodesPerField;
+
+    @Value("${autocomplete.max-term-length:80}")
+    private int maxTermLength;
+
+    private final Map<Field, PrefixTrie> tries = new EnumMap<>(Field.class);
+    private final Object replayLock = new Object();
+    // Changes seen before the index is ready; null once replayed or after a failed build
+    private List<PendingChange> pending = new ArrayList<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAsync() {
+        for (Field field : Field.values()) {
+            tries.put(field, new PrefixTrie(MAX_SUGGESTIONS, maxNodesPerField, maxTermLength));
+        }
+
+        Thread builder = new Thread(this::build, "autocomplete-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build() {
+        long start = System.currentTimeMillis();
+        try {
+            // Events are stamped after their commit, so anything committed after the
+            // snapshot is stamped after this; replaying from here can count a change
+            // made just before the snapshot twice, but never misses one
+            long snapshotAt = System.currentTimeMillis();
+            for (Counts counts : snapshot()) {
+                load(Field.NAME, counts.names());
+                load(Field.VILLAGE_SAHI, counts.villageSahis());
+                load(Field.GP, counts.gps());
+            }
+
+            synchronized (replayLock) {
+                for (PendingChange change : pending) {
+                    if (change.committedAt() >= snapshotAt) {
+                        apply(change.event());
+                    }
+                }
+                pending = null;
+                ready = true;
+            }
+            log.info("Autocomplete index built in {} ms (terms/nodes: name={}/{}, villageSahi={}/{}, gp={}/{})",
+                    System.currentTimeMillis() - start,
+                    tries.get(Field.NAME).size(), tries.get(Field.NAME).nodeCount(),
+                    tries.get(Field.VILLAGE_SAHI).size(), tries.get(Field.VILLAGE_SAHI).nodeCount(),
+                    tries.get(Field.GP).size(), tries.get(Field.GP).nodeCount());
+        } catch (RuntimeException e) {
+            synchronized (replayLock) {
+                pending = null;
+            }
+            log.error("Failed to build autocomplete index: {}", e.getMessage());
+        }
+    }
+
+    // All three counts from one REPEATABLE READ snapshot on the primary, so the replay
+    // cutoff holds for every field; with sharding, one snapshot per schema and a value
+    // found in several shards is summed by the trie
+    private List<Counts> snapshot() {
+        Supplier<Counts> counts = () -> new Counts(
+                grievanceRepository.countGroupedByName(),
+                grievanceRepository.countGroupedByVillageSahi(),
+                grievanceRepository.countGroupedByGp());
+        if (shardRegistry.isEnabled()) {
+            return shardExecutor.scatterSnapshot(counts);
+        }
+
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return List.of(snapshot.execute(status -> counts.get()));
+    }
+
+    private void load(Field field, List<Object[]> counts) {
+        PrefixTrie trie = tries.get(field);
+        for (Object[] row : counts) {
+            trie.add((String) row[0], (Long) row[1]);
+        }
+    }
+
+    public List<PrefixTrie.Suggestion> suggest(Field field, String prefix, int limit) {
+        if (field == Field.NAME && authService.getCurrentUser().getRole() == User.Role.AGENT) {
+            throw new AccessDeniedException("Name suggestions are only available to admins");
+        }
+        if (!ready) {
+            return List.of();
+        }
+        return tries.get(field).suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGrievanceChanged(GrievanceChangedEvent event) {
+        if (event.deleted() || event.values().isEmpty()) {
+            return;
+        }
+
+        if (!ready) {
+            synchronized (replayLock) {
+                if (!ready) {
+                    if (pending != null) {
+                        pending.add(new PendingChange(System.currentTimeMillis(), event));
+                    }
+                    return;
+                }
+            }
+        }
+        apply(event);
+    }
+
+    // New grievances count towards frequency; edits only register new values
+    private void apply(GrievanceChangedEvent event) {
+        long delta = event.change() == GrievanceChangedEvent.Change.CREATED ? 1 : 0;
+        for (GrievanceChangedEvent.Values values : event.values()) {
+            for (Field field : Field.values()) {
+                tries.get(field).add(field.getter.apply(values), delta);
+            }
+        }
+    }
+}
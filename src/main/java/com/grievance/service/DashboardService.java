@@ -1,22 +1,28 @@
 package com.grievance.service;
 
+import com.grievance.config.ShardContext;
+import com.grievance.config.ShardRegistry;
 import com.grievance.dto.DashboardResponse;
-import com.grievance.dto.GrievanceDTO;
-import com.grievance.entity.Attachment;
+import com.grievance.dto.GrievanceSummaryDTO;
 import com.grievance.entity.Grievance;
 import com.grievance.entity.User;
 import com.grievance.repository.GrievanceRepository;
+import com.grievance.repository.GrievanceSpecification;
 import com.grievance.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,8 +32,57 @@ public class DashboardService {
     private final GrievanceRepository grievanceRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final RequestCoalescer requestCoalescer;
+    private final ShardRegistry shardRegistry;
+    private final ShardExecutor shardExecutor;
 
+    private static final int RECENT_ACTIVITY_LIMIT = 10;
+    private static final int AGENT_TODAY_LIMIT = 200;
+
+    // Dashboards are opened by many admins at once; identical calls share one computation
     public DashboardResponse getAdminDashboard(LocalDate startDate, LocalDate endDate) {
+        if (shardRegistry.isEnabled() && !ShardContext.isSet()) {
+            // Not bound to a block: one partial per shard, in parallel, merged here
+            return requestCoalescer.execute("adminDashboard", startDate + "/" + endDate,
+                    () -> merge(shardExecutor.scatter(() -> buildAdminDashboard(startDate, endDate))));
+        }
+        return requestCoalescer.executeReadOnly("adminDashboard", startDate + "/" + endDate,
+                () -> buildAdminDashboard(startDate, endDate));
+    }
+
+    private DashboardResponse merge(List<DashboardResponse> partials) {
+        DashboardResponse merged = new DashboardResponse();
+        merged.setTotalGrievances(partials.stream().mapToLong(DashboardResponse::getTotalGrievances).sum());
+        // users is not sharded, every partial counted the same table
+        merged.setTotalUsers(partials.get(0).getTotalUsers());
+        merged.setGrievanceStatusCounts(sumCounts(partials, DashboardResponse::getGrievanceStatusCounts));
+        merged.setBlockDistribution(sumCounts(partials, DashboardResponse::getBlockDistribution));
+        merged.setDailyTrend(sumCounts(partials, DashboardResponse::getDailyTrend));
+        merged.setRecentActivity(partials.stream()
+                .flatMap(partial -> partial.getRecentActivity().stream())
+                .sorted(Comparator.comparing(GrievanceSummaryDTO::getUpdatedAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(RECENT_ACTIVITY_LIMIT)
+                .collect(Collectors.toList()));
+        return merged;
+    }
+
+    private static Map<String, Long> sumCounts(List<DashboardResponse> partials,
+                                               Function<DashboardResponse, Map<String, Long>> counts) {
+        Map<String, Long> sum = new HashMap<>();
+        for (DashboardResponse partial : partials) {
+            counts.apply(partial).forEach((key, count) -> sum.merge(key, count, Long::sum));
+        }
+        return sum;
+    }
+
+    public DashboardResponse getAgentDashboard(LocalDate startDate, LocalDate endDate) {
+        User currentUser = authService.getCurrentUser();
+        return requestCoalescer.executeReadOnly("agentDashboard", currentUser.getId() + "/" + startDate + "/" + endDate,
+                () -> buildAgentDashboard(currentUser, startDate, endDate));
+    }
+
+    private DashboardResponse buildAdminDashboard(LocalDate startDate, LocalDate endDate) {
         DashboardResponse response = new DashboardResponse();
 
         // Set date range
@@ -65,18 +120,14 @@ public class DashboardService {
 
         // Top performing agents
         // Recent Activity
-        List<Grievance> grievances = grievanceRepository.findTop10ByOrderByUpdatedAtDesc();
-
-        response.setRecentActivity(grievances.stream()
-                .map(GrievanceDTO::fromEntity)
-                .collect(Collectors.toList()));
+        response.setRecentActivity(grievanceRepository.findSummaries(
+                null, Sort.by(Sort.Direction.DESC, "updatedAt"), RECENT_ACTIVITY_LIMIT));
 
         return response;
     }
 
-    public DashboardResponse getAgentDashboard(LocalDate startDate, LocalDate endDate) {
+    private DashboardResponse buildAgentDashboard(User currentUser, LocalDate startDate, LocalDate endDate) {
         DashboardResponse response = new DashboardResponse();
-        User currentUser = authService.getCurrentUser();
 
         // Set date range
         LocalDateTime startDateTime = (startDate != null) ?
@@ -102,11 +153,17 @@ public class DashboardService {
         ZoneId zoneId = ZoneId.of("Asia/Kolkata");
         LocalDate today = LocalDate.now(zoneId);
 
-        List<Grievance> grievances = grievanceRepository.countTodayByAgent(today.atStartOfDay(), today.plusDays(1).atStartOfDay(), currentUser);
+        Specification<Grievance> todays = Specification.where(GrievanceSpecification.collectedBy(currentUser))
+                .and(GrievanceSpecification.createdBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay()));
 
-        response.setRecentActivity(grievances.stream()
-                .map(GrievanceDTO::fromEntity)
-                .collect(Collectors.toList()));
+        // One extra row says whether the day holds more than the response carries
+        List<GrievanceSummaryDTO> rows = grievanceRepository.findSummaries(
+                todays, Sort.by(Sort.Direction.DESC, "createdAt", "grievanceId"), AGENT_TODAY_LIMIT + 1);
+        boolean truncated = rows.size() > AGENT_TODAY_LIMIT;
+
+        response.setRecentActivity(truncated ? rows.subList(0, AGENT_TODAY_LIMIT) : rows);
+        response.setRecentActivityTruncated(truncated);
+        response.setRecentActivityTotal(truncated ? grievanceRepository.count(todays) : (long) rows.size());
 
         return response;
     }
@@ -0,0 +1,48 @@
+package com.grievance.service;
+
+import com.grievance.entity.Grievance;
+
+import java.util.List;
+
+/**
+ * Published by the grievance write paths. Derived read stores (read model,
+ * search index, autocomplete) listen for it around the transaction commit.
+ * Creates and edits carry the autocomplete inputs as written, so listeners
+ * after commit need not read the rows again; attachment changes carry none.
+ */
+public record GrievanceChangedEvent(List<Long> grievanceIds, Change change, List<Values> values) {
+
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+
+    public record Values(String name, String villageSahi, String gp) {
+
+        static Values of(Grievance grievance) {
+            return new Values(grievance.getName(), grievance.getVillageSahi(), grievance.getGp());
+        }
+    }
+
+    public static GrievanceChangedEvent created(Grievance grievance) {
+        return new GrievanceChangedEvent(List.of(grievance.getGrievanceId()), Change.CREATED,
+                List.of(Values.of(grievance)));
+    }
+
+    public static GrievanceChangedEvent updated(Grievance grievance) {
+        return new GrievanceChangedEvent(List.of(grievance.getGrievanceId()), Change.UPDATED,
+                List.of(Values.of(grievance)));
+    }
+
+    // Changes that leave the grievance's own fields alone (attachments)
+    public static GrievanceChangedEvent updated(Long grievanceId) {
+        return new GrievanceChangedEvent(List.of(grievanceId), Change.UPDATED, List.of());
+    }
+
+    public static GrievanceChangedEvent deleted(List<Long> grievanceIds) {
+        return new GrievanceChangedEvent(List.copyOf(grievanceIds), Change.DELETED, List.of());
+    }
+
+    public boolean deleted() {
+        return change == Change.DELETED;
+    }
+}
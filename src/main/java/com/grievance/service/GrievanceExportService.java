@@ -0,0 +1,44 @@
+package com.grievance.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Large exports go through S3 instead of the response body: on Lambda the
+ * whole response is buffered and API Gateway rejects anything over 6 MB.
+ * The CSV is streamed to a temp file inside GrievanceService's read-only
+ * transaction and uploaded after it, so no DB connection is held during the
+ * S3 call. Objects under exports/ expire through the bucket lifecycle rule.
+ */
+@Service
+@RequiredArgsConstructor
+public class GrievanceExportService {
+
+    private static final String CSV_CONTENT_TYPE = "text/csv; charset=UTF-8";
+    private static final String CSV_FILE_NAME = "grievances.csv";
+
+    private final GrievanceService grievanceService;
+    private final S3Service s3Service;
+
+    // Returns a pre-signed download URL for the CSV of the given grievances
+    public String exportCsv(List<Long> grievanceIds) throws IOException {
+        Path file = Files.createTempFile("grievances-", ".csv");
+        try {
+            // writeCsv buffers on its own
+            try (OutputStream out = Files.newOutputStream(file)) {
+                grievanceService.writeCsv(grievanceIds, out);
+            }
+            String key = "exports/" + UUID.randomUUID() + "/" + CSV_FILE_NAME;
+            return s3Service.uploadExport(file, key, CSV_CONTENT_TYPE, CSV_FILE_NAME);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.grievance.service;
+
+import com.grievance.config.ShardContext;
+import com.grievance.config.ShardRegistry;
+import com.grievance.entity.Grievance;
+import com.grievance.entity.GrievanceListVersion;
+import com.grievance.entity.GrievanceReadModel;
+import com.grievance.repository.AttachmentRepository;
+import com.grievance.repository.GrievanceListVersionRepository;
+import com.grievance.repository.GrievanceReadModelRepository;
+import com.grievance.repository.GrievanceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps grievance_read_model in step with grievances_excel. Runs before commit
+ * so the read row is written in the same transaction as the change, and bumps
+ * the listing versions (GrievanceListVersion) the change affects.
+ */
+@Service
+@RequiredArgsConstructor
+public class GrievanceReadModelProjector {
+
+    private final GrievanceRepository grievanceRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final GrievanceReadModelRepository readModelRepository;
+    private final GrievanceListVersionRepository listVersionRepository;
+    private final ShardRegistry shardRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onGrievanceChanged(GrievanceChangedEvent event) {
+        Set<Long> scopes = new LinkedHashSet<>();
+        scopes.add(GrievanceListVersion.ALL);
+
+        if (event.deleted()) {
+            scopes.addAll(readModelRepository.findCollectedByIds(event.grievanceIds()));
+            readModelRepository.deleteAllByIdInBatch(event.grievanceIds());
+        } else {
+            project(event.grievanceIds()).stream()
+                    .map(GrievanceReadModel::getCollectedById)
+                    .filter(Objects::nonNull)
+                    .forEach(scopes::add);
+        }
+
+        listVersionRepository.bump(scopes);
+    }
+
+    /**
+     * Rewrites the copied collector and assignee names of every row the user
+     * appears on. A user's grievances can sit in any shard, so each schema is
+     * updated explicitly rather than through the session's search_path.
+     * <p>
+     * The grievances themselves get a new updatedAt: the detail shows both
+     * names and its ETag is built from updatedAt (GrievanceRepository.findVersionById).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserRenamed(UserRenamedEvent event) {
+        Set<Long> scopes = new LinkedHashSet<>();
+        scopes.add(GrievanceListVersion.ALL);
+
+        List<String> schemas = shardRegistry.isEnabled()
+                ? shardRegistry.allSchemas()
+                : List.of(ShardContext.DEFAULT_SCHEMA);
+        // Taken from the JVM clock like @UpdateTimestamp, and shared by both tables
+        LocalDateTime now = LocalDateTime.now();
+        for (String schema : schemas) {
+            touchGrievances(schema, now, event);
+
+            String table = schema + ".grievance_read_model";
+            List<?> collectors = entityManager.createNativeQuery("SELECT DISTINCT collected_by_id FROM " + table
+                            + " WHERE (collected_by_id = :id OR assigned_to_id = :id) AND collected_by_id IS NOT NULL")
+                    .setParameter("id", event.userId())
+                    .getResultList();
+            collectors.forEach(id -> scopes.add(((Number) id).longValue()));
+
+            renameColumn(table, "collected_by_name", "collected_by_id", event);
+            renameColumn(table, "assigned_to_name", "assigned_to_id", event);
+            entityManager.createNativeQuery("UPDATE " + table + " SET updated_at = :now"
+                            + " WHERE collected_by_id = :id OR assigned_to_id = :id")
+                    .setParameter("now", now)
+                    .setParameter("id", event.userId())
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(GrievanceReadModel.class)
+                    .executeUpdate();
+        }
+
+        listVersionRepository.bump(scopes);
+    }
+
+    // The version column is left alone: a rename is no conflict for an edit in flight
+    private void touchGrievances(String schema, LocalDateTime now, UserRenamedEvent event) {
+        entityManager.createNativeQuery("UPDATE " + schema + ".grievances_excel SET updated_at = :now"
+                        + " WHERE collected_by = :id OR assigned_to = :id")
+                .setParameter("now", now)
+                .setParameter("id", event.userId())
+                .unwrap(NativeQuery.class)
+                // Evicts only the cached grievances, whose updatedAt is now stale
+                .addSynchronizedEntityClass(Grievance.class)
+                .executeUpdate();
+    }
+
+    private void renameColumn(String table, String nameColumn, String idColumn, UserRenamedEvent event) {
+        entityManager.createNativeQuery("UPDATE " + table + " SET " + nameColumn + " = :name WHERE " + idColumn + " = :id")
+                .setParameter("name", event.name())
+                .setParameter("id", event.userId())
+                .unwrap(NativeQuery.class)
+                // Only the read model is touched; keeps the second-level cache regions intact
+                .addSynchronizedEntityClass(GrievanceReadModel.class)
+                .executeUpdate();
+    }
+
+    public List<GrievanceReadModel> project(List<Long> grievanceIds) {
+        Map<Long, Long> attachmentCounts = attachmentRepository.countByGrievanceIds(grievanceIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        List<GrievanceReadModel> rows = grievanceRepository.findAllWithUsersByIdIn(grievanceIds).stream()
+                .map(g -> toReadModel(g, attachmentCounts.getOrDefault(g.getGrievanceId(), 0L)))
+                .toList();
+
+        readModelRepository.saveAll(rows);
+        return rows;
+    }
+
+    private GrievanceReadModel toReadModel(Grievance grievance, long attachmentCount) {
+        GrievanceReadModel row = new GrievanceReadModel();
+        row.setGrievanceId(grievance.getGrievanceId());
+        row.setBlock(grievance.getBlock());
+        row.setGp(grievance.getGp());
+        row.setVillageSahi(grievance.getVillageSahi());
+        row.setWardNo(grievance.getWardNo());
+        row.setName(grievance.getName());
+        row.setFatherSpouseName(grievance.getFatherSpouseName());
+        row.setContact(grievance.getContact());
+        row.setTopic1(grievance.getTopic1());
+        row.setTopic2(grievance.getTopic2());
+        row.setTopic3(grievance.getTopic3());
+        row.setTopic4(grievance.getTopic4());
+        row.setTopic5(grievance.getTopic5());
+        row.setAgentRemarks(grievance.getAgentRemarks());
+        row.setAgentName(grievance.getAgentName());
+        row.setWorkGivenTo(grievance.getWorkGivenTo());
+        row.setStatus(grievance.getStatus() != null ? grievance.getStatus().name() : null);
+        row.setAdminDate(grievance.getAdminDate());
+        row.setCreatedAt(grievance.getCreatedAt());
+        row.setUpdatedAt(grievance.getUpdatedAt());
+
+        if (grievance.getCollectedBy() != null) {
+            row.setCollectedById(grievance.getCollectedBy().getId());
+            row.setCollectedByName(grievance.getCollectedBy().getName());
+        }
+        if (grievance.getAssignedTo() != null) {
+            row.setAssignedToId(grievance.getAssignedTo().getId());
+            row.setAssignedToName(grievance.getAssignedTo().getName());
+        }
+
+        row.setAttachmentCount((int) attachmentCount);
+        return row;
+    }
+}
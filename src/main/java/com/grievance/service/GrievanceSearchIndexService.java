@@ -0,0 +1,308 @@
+package com.grievance.service;
+
+import com.grievance.dto.FullTextHit;
+import com.grievance.dto.FullTextSearchResponse;
+import com.grievance.entity.Grievance;
+import com.grievance.repository.GrievanceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index over the free-text grievance fields.
+ * Kept in step with the write paths through {@link GrievanceChangedEvent};
+ * {@link #rebuild()} re-streams the whole table when the index is new or stale.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "search.fulltext", name = "enabled", havingValue = "true")
+public class GrievanceSearchIndexService {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String BLOCK = "block";
+    private static final String STATUS = "status";
+    private static final String[] TEXT_FIELDS = {"grievanceDetails", "agentRemarks", "adminRemarks"};
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    private static final int MAX_FACET_LABELS = 50;
+
+    private final GrievanceRepository grievanceRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${search.fulltext.index-dir}")
+    private String indexDir;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(FSDirectory.open(Path.of(indexDir)), config);
+        searcherManager = new SearcherManager(writer, new FacetingSearcherFactory());
+        log.info("Full-text index opened at {} ({} docs)", indexDir, writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    public FullTextSearchResponse search(String text, String block, String status, int limit) throws IOException {
+        Query base;
+        try {
+            base = new MultiFieldQueryParser(TEXT_FIELDS, analyzer).parse(QueryParser.escape(text));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid search text", e);
+        }
+
+        DrillDownQuery query = new DrillDownQuery(facetsConfig, base);
+        if (block != null && !block.isBlank()) {
+            query.add(BLOCK, block);
+        }
+        if (status != null && !status.isBlank()) {
+            query.add(STATUS, status);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            if (searcher.getIndexReader().numDocs() == 0) {
+                return new FullTextSearchResponse(0L, List.of(), Map.of());
+            }
+
+            FacetsCollector facetsCollector = new FacetsCollector();
+            TopDocs topDocs = FacetsCollector.search(searcher, query, limit, facetsCollector);
+
+            Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+            SortedSetDocValuesReaderState state = ((FacetingSearcher) searcher).facetState;
+            if (state != null) {
+                Facets facets = new SortedSetDocValuesFacetCounts(state, facetsCollector);
+                facetCounts.put(BLOCK, facetCounts(facets, BLOCK));
+                facetCounts.put(STATUS, facetCounts(facets, STATUS));
+            }
+
+            // Fragments are agent-entered text; escape it so only the <em> markers are HTML
+            Highlighter highlighter = new Highlighter(
+                    new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), new QueryScorer(base));
+
+            List<FullTextHit> hits = new ArrayList<>();
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = searcher.storedFields().document(scoreDoc.doc);
+
+                Map<String, String> highlights = new LinkedHashMap<>();
+                for (String field : TEXT_FIELDS) {
+                    String value = doc.get(field);
+                    if (value == null) {
+                        continue;
+                    }
+                    try {
+                        String fragment = highlighter.getBestFragment(analyzer, field, value);
+                        if (fragment != null) {
+                            highlights.put(field, fragment);
+                        }
+                    } catch (InvalidTokenOffsetsException e) {
+                        log.debug("Could not highlight {} of grievance {}", field, doc.get(ID));
+                    }
+                }
+
+                hits.add(new FullTextHit(
+                        Long.valueOf(doc.get(ID)),
+                        scoreDoc.score,
+                        doc.get(NAME),
+                        doc.get(BLOCK),
+                        doc.get(STATUS),
+                        highlights
+                ));
+            }
+
+            return new FullTextSearchResponse(topDocs.totalHits.value, hits, facetCounts);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGrievanceChanged(GrievanceChangedEvent event) {
+        try {
+            if (event.deleted()) {
+                for (Long id : event.grievanceIds()) {
+                    writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+                }
+            } else {
+                // Texts fetched up front rather than lazily after the commit
+                for (Grievance grievance : grievanceRepository.findAllWithUsersAndTextByIdIn(event.grievanceIds())) {
+                    index(grievance);
+                }
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            // The index is derived data; a rebuild brings it back in line
+            log.error("Failed to update full-text index for {}: {}", event.grievanceIds(), e.getMessage());
+        }
+    }
+
+    /**
+     * Re-indexes every grievance, walking the table in id-ordered chunks. Each
+     * chunk is read in its own short read-only transaction and indexed after
+     * it commits, so a connection is only held while a chunk is being fetched.
+     */
+    public long rebuild() throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        writer.deleteAll();
+
+        long indexed = 0;
+        long lastId = 0;
+        List<Grievance> chunk;
+        do {
+            long after = lastId;
+            chunk = readOnly.execute(status -> grievanceRepository.findByGrievanceIdGreaterThanOrderByGrievanceIdAsc(
+                    after, PageRequest.of(0, REBUILD_CHUNK_SIZE)));
+
+            // Detached now, texts were fetched with the chunk
+            for (Grievance grievance : chunk) {
+                index(grievance);
+                lastId = grievance.getGrievanceId();
+            }
+            indexed += chunk.size();
+        } while (chunk.size() == REBUILD_CHUNK_SIZE);
+
+        writer.commit();
+        searcherManager.maybeRefresh();
+        log.info("Full-text index rebuilt with {} grievances", indexed);
+        return indexed;
+    }
+
+    private void index(Grievance grievance) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField(ID, String.valueOf(grievance.getGrievanceId()), Field.Store.YES));
+
+        if (grievance.getName() != null) {
+            doc.add(new StoredField(NAME, grievance.getName()));
+        }
+        if (grievance.getBlock() != null && !grievance.getBlock().isBlank()) {
+            doc.add(new StoredField(BLOCK, grievance.getBlock()));
+            doc.add(new SortedSetDocValuesFacetField(BLOCK, grievance.getBlock()));
+        }
+        if (grievance.getStatus() != null) {
+            doc.add(new StoredField(STATUS, grievance.getStatus().name()));
+            doc.add(new SortedSetDocValuesFacetField(STATUS, grievance.getStatus().name()));
+        }
+
+        addText(doc, TEXT_FIELDS[0], grievance.getGrievanceDetails());
+        addText(doc, TEXT_FIELDS[1], grievance.getAgentRemarks());
+        addText(doc, TEXT_FIELDS[2], grievance.getAdminRemarks());
+
+        writer.updateDocument(new Term(ID, String.valueOf(grievance.getGrievanceId())), facetsConfig.build(doc));
+    }
+
+    private void addText(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private Map<String, Long> facetCounts(Facets facets, String dimension) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        FacetResult result;
+        try {
+            result = facets.getTopChildren(MAX_FACET_LABELS, dimension);
+        } catch (IllegalArgumentException e) {
+            // Dimension not present in the index yet
+            return counts;
+        }
+        if (result != null) {
+            for (LabelAndValue labelAndValue : result.labelValues) {
+                counts.put(labelAndValue.label, labelAndValue.value.longValue());
+            }
+        }
+        return counts;
+    }
+
+    // Facet ordinals are read once per opened reader, not on every query
+    private static final class FacetingSearcher extends IndexSearcher {
+
+        private final SortedSetDocValuesReaderState facetState;
+
+        FacetingSearcher(IndexReader reader, SortedSetDocValuesReaderState facetState) {
+            super(reader);
+            this.facetState = facetState;
+        }
+    }
+
+    private final class FacetingSearcherFactory extends SearcherFactory {
+
+        @Override
+        public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+            SortedSetDocValuesReaderState state = null;
+            if (reader.numDocs() > 0) {
+                try {
+                    state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+                } catch (IllegalArgumentException e) {
+                    // No facet fields indexed yet
+                }
+            }
+            return new FacetingSearcher(reader, state);
+        }
+    }
+}
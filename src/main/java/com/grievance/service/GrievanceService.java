@@ -1,25 +1,53 @@
 package com.grievance.service;
 
+import com.grievance.config.ShardRegistry;
 import com.grievance.dto.AttachmentDTO;
+import com.grievance.dto.CitizenHistoryResponse;
+import com.grievance.dto.CountMode;
+import com.grievance.dto.CursorPage;
+import com.grievance.dto.GrievanceBatchItem;
 import com.grievance.dto.GrievanceDTO;
 import com.grievance.dto.GrievanceFilter;
 import com.grievance.dto.GrievanceRequest;
+import com.grievance.dto.GrievanceSummaryDTO;
+import com.grievance.dto.NameMatch;
+import com.grievance.dto.PageResponse;
+import com.grievance.dto.ResourceVersion;
 import com.grievance.entity.Attachment;
+import com.grievance.entity.AttachmentStatus;
 import com.grievance.entity.Grievance;
+import com.grievance.entity.GrievanceListVersion;
+import com.grievance.entity.GrievanceReadModel;
 import com.grievance.entity.User;
 import com.grievance.exception.ResourceNotFoundException;
 import com.grievance.exception.UnauthorizedException;
 import com.grievance.repository.AttachmentRepository;
+import com.grievance.repository.GrievanceCountEstimator;
+import com.grievance.repository.GrievanceListVersionRepository;
+import com.grievance.repository.GrievanceReadModelRepository;
+import com.grievance.repository.GrievanceReadModelSpecification;
 import com.grievance.repository.GrievanceRepository;
 import com.grievance.repository.GrievanceSpecification;
 
+import com.grievance.utility.ContactNumbers;
+import com.grievance.utility.CursorCodec;
 import com.grievance.utility.DateFormatter;
+import com.grievance.utility.FieldSelection;
+import com.grievance.utility.PhoneticEncoder;
 import com.lowagie.text.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 // POI (Excel)
 /*import org.apache.poi.ss.usermodel.Cell;
@@ -38,23 +66,59 @@ import org.springframework.util.StringUtils;
 import com.lowagie.text.pdf.PdfPCell;
 
 import java.awt.Color;*/
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class GrievanceService {
 
     private final GrievanceRepository grievanceRepository;
+    private final GrievanceCountEstimator countEstimator;
+    private final GrievanceReadModelRepository readModelRepository;
+    private final GrievanceListVersionRepository listVersionRepository;
     private final AttachmentRepository attachmentRepository;
     private final AuthService authService;
     private final S3Service s3Service;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final RequestCoalescer requestCoalescer;
+    private final ShardRegistry shardRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_ROWS = 10_000;
+    private static final int PHONETIC_BACKFILL_CHUNK_SIZE = 500;
+    private static final int DETAIL_ATTACHMENT_PREVIEW = 5;
+    private static final int MAX_ATTACHMENT_PAGE_SIZE = 50;
+    private static final int MAX_HISTORY_ROWS = 200;
+    private static final int CSV_CLEAR_INTERVAL = 500;
+    private static final int CSV_ID_CHUNK_SIZE = 5_000;
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+
+    private static final Set<String> SEARCH_SORT_KEYS = Set.of("createdAt", "grievanceId");
+    private static final Sort NEWEST_FIRST =
+            Sort.by(Sort.Direction.DESC, "createdAt", "grievanceId");
 
     @Transactional
     public GrievanceDTO saveGrievance(GrievanceRequest request) {
@@ -62,6 +126,7 @@ public class GrievanceService {
 
         Grievance grievance = new Grievance();
         mapRequestToEntity(request, grievance);
+        shardRegistry.requireCurrentShard(grievance.getBlock());
 
         // Set collected by current user
         grievance.setCollectedBy(currentUser);
@@ -84,6 +149,8 @@ public class GrievanceService {
             saveAttachments(savedGrievance, request.getAttachments());
         }
 
+        eventPublisher.publishEvent(GrievanceChangedEvent.created(savedGrievance));
+
         return GrievanceDTO.fromEntity(savedGrievance);
     }
 
@@ -97,8 +164,10 @@ public class GrievanceService {
             throw new UnauthorizedException("Only admin can update grievances");
         }
 
-        Grievance grievance = grievanceRepository.findById(grievanceId)
+        Grievance grievance = grievanceRepository.findForUpdateById(grievanceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
+        shardRegistry.requireCurrentShard(grievance.getBlock());
+        shardRegistry.requireSameShard(grievance.getBlock(), request.getBlock());
 
         mapRequestToEntity(request, grievance);
 
@@ -115,41 +184,214 @@ public class GrievanceService {
             saveAttachments(updatedGrievance, request.getAttachments());
         }
 
+        eventPublisher.publishEvent(GrievanceChangedEvent.updated(updatedGrievance));
+
         return GrievanceDTO.fromEntity(updatedGrievance);
     }
 
+    /**
+     * Batch read: grievances with their users and text fields in one query and attachments in a
+     * second, returned in request order with a not-found slot for missing ids.
+     */
+    @Transactional(readOnly = true)
+    public List<GrievanceBatchItem> getGrievancesByIds(List<Long> grievanceIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(grievanceIds);
+
+        Map<Long, Grievance> grievances = grievanceRepository.findAllWithUsersAndTextByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(Grievance::getGrievanceId, g -> g));
+        Map<Long, List<Attachment>> attachments = loadAttachmentsByIds(List.copyOf(grievances.keySet()));
+
+        return grievanceIds.stream()
+                .map(id -> {
+                    Grievance grievance = grievances.get(id);
+                    return grievance == null
+                            ? GrievanceBatchItem.notFound(id)
+                            : GrievanceBatchItem.found(GrievanceDTO.fromEntity(
+                                    grievance, attachments.getOrDefault(id, List.of())));
+                })
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getGrievanceVersion(Long grievanceId) {
+        return grievanceRepository.findVersionById(grievanceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
+    }
+
+    // Version of the caller's /all listing: the agent's own rows, or the whole table.
+    // One primary-key read of the counter the projector bumps; no aggregate over the rows.
+    @Transactional(readOnly = true)
+    public ResourceVersion getListVersion() {
+        User currentUser = authService.getCurrentUser();
+
+        long scope = currentUser.getRole().equals(User.Role.AGENT)
+                ? currentUser.getId()
+                : GrievanceListVersion.ALL;
+
+        return listVersionRepository.findById(scope)
+                .map(v -> new ResourceVersion(v.getUpdatedAt(), v.getVersion()))
+                .orElseGet(() -> new ResourceVersion(null, 0L))
+                .scopedTo(currentUser.getId());
+    }
+
+    // Concurrent opens of the same grievance share one load
     public GrievanceDTO getGrievanceById(Long grievanceId) {
-        Grievance grievance = grievanceRepository.findById(grievanceId)
+        return requestCoalescer.executeReadOnly("grievance", grievanceId, () -> loadGrievance(grievanceId));
+    }
+
+    private GrievanceDTO loadGrievance(Long grievanceId) {
+        Grievance grievance = grievanceRepository.findDetailById(grievanceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Grievance not found"));
 
-        // Load attachments
-        List<Attachment> attachments = attachmentRepository.findByGrievance_GrievanceId(grievanceId);
-        grievance.setAttachments(attachments);
+        // Count plus the first few; the rest is paged from the attachments sub-resource
+        List<Attachment> attachments = attachmentRepository.findPage(
+                grievanceId, 0L, PageRequest.of(0, DETAIL_ATTACHMENT_PREVIEW));
 
-        return GrievanceDTO.fromEntity(grievance);
+        GrievanceDTO dto = GrievanceDTO.fromEntity(grievance, attachments);
+        dto.setAttachmentCount(attachments.size() < DETAIL_ATTACHMENT_PREVIEW
+                ? (long) attachments.size()
+                : attachmentRepository.countByGrievance_GrievanceId(grievanceId));
+        return dto;
     }
 
-    public Page<GrievanceDTO> getAllGrievances(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public CursorPage<AttachmentDTO> getGrievanceAttachments(Long grievanceId, AttachmentStatus status,
+                                                             String cursor, int size) {
+        if (!grievanceRepository.existsById(grievanceId)) {
+            throw new ResourceNotFoundException("Grievance not found");
+        }
+
+        int limit = Math.min(Math.max(size, 1), MAX_ATTACHMENT_PAGE_SIZE);
+        long after = StringUtils.hasText(cursor) ? CursorCodec.decodeId(cursor) : 0L;
+
+        // One extra row tells whether another page exists
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<Attachment> rows = status == null
+                ? attachmentRepository.findPage(grievanceId, after, page)
+                : attachmentRepository.findPageByStatus(grievanceId, status, after, page);
+
+        boolean hasNext = rows.size() > limit;
+        List<AttachmentDTO> content = (hasNext ? rows.subList(0, limit) : rows).stream()
+                .map(AttachmentDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        String nextCursor = hasNext
+                ? CursorCodec.encodeId(content.get(content.size() - 1).getAttachmentId())
+                : null;
+
+        return new CursorPage<>(content, content.size(), nextCursor, hasNext);
+    }
+
+    /**
+     * Offset listing whose total depends on {@code countMode}. When no mode is
+     * given, agents (mobile) get NONE and admins get EXACT. {@code fields}
+     * optionally limits the selected columns (see FieldSelection).
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<GrievanceSummaryDTO> getAllGrievances(Pageable pageable, boolean includeAttachments,
+                                                              CountMode countMode, String fields) {
+        Set<String> selected = FieldSelection.parse(fields, "grievanceId");
         User currentUser = authService.getCurrentUser();
+        boolean agent = currentUser.getRole().equals(User.Role.AGENT);
 
-        Page<Grievance> grievances;
+        // If user is agent, only show their grievances; admin can see all
+        Specification<GrievanceReadModel> scope = agent
+                ? GrievanceReadModelSpecification.collectedBy(currentUser.getId())
+                : null;
 
-        // If user is agent, only show their grievances
-        if (currentUser.getRole().equals(User.Role.AGENT)) {
-            grievances = grievanceRepository.findByCollectedBy(currentUser, pageable);
+        CountMode mode = countMode != null ? countMode : (agent ? CountMode.NONE : CountMode.EXACT);
+
+        PageResponse<GrievanceSummaryDTO> response;
+        if (mode == CountMode.EXACT) {
+            response = toPageResponse(readModelRepository.findSummaries(scope, pageable, selected));
         } else {
-            // Admin can see all
-            grievances = grievanceRepository.findAll(pageable);
+            Slice<GrievanceSummaryDTO> slice = readModelRepository.findSummarySlice(scope, pageable, selected);
+            response = toPageResponse(slice);
+
+            if (mode == CountMode.ESTIMATE) {
+                long seen = pageable.getOffset() + slice.getNumberOfElements();
+                if (!slice.hasNext()) {
+                    // On the last page the total is known exactly
+                    setTotals(response, seen, false);
+                } else {
+                    long estimate = agent
+                            ? countEstimator.estimateCollectedBy(currentUser.getId())
+                            : countEstimator.estimateAll();
+                    if (estimate < 0) {
+                        // No statistics yet; fall back to a real count
+                        setTotals(response, readModelRepository.count(Specification.where(scope)), false);
+                    } else {
+                        // Stats may lag behind; never report fewer rows than already seen
+                        setTotals(response, Math.max(estimate, seen + 1), true);
+                    }
+                }
+            }
         }
 
-        // Load attachments for each grievance
-        grievances.forEach(grievance -> {
-            List<Attachment> attachments = attachmentRepository.findByGrievance_GrievanceId(
-                    grievance.getGrievanceId());
-            grievance.setAttachments(attachments);
-        });
+        if (includeAttachments && FieldSelection.includes(selected, FieldSelection.ATTACHMENTS)) {
+            attachSummaryAttachments(response.getContent());
+        }
+
+        return response;
+    }
+
+    private static <T> PageResponse<T> toPageResponse(Slice<T> slice) {
+        PageResponse<T> response = new PageResponse<>();
+        response.setContent(slice.getContent());
+        response.setNumber(slice.getNumber());
+        response.setSize(slice.getSize());
+        response.setFirst(slice.isFirst());
+        response.setLast(slice.isLast());
+        response.setHasNext(slice.hasNext());
+
+        if (slice instanceof Page<T> page) {
+            setTotals(response, page.getTotalElements(), false);
+        }
+        return response;
+    }
+
+    private static void setTotals(PageResponse<?> response, long total, boolean estimated) {
+        int size = response.getSize();
+        response.setTotalElements(total);
+        response.setTotalPages(size == 0 ? 1 : (int) Math.ceil((double) total / size));
+        response.setEstimated(estimated);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<GrievanceSummaryDTO> getAllGrievancesByCursor(String cursor, int size,
+                                                                   boolean includeAttachments, String fields) {
+        // The next cursor is built from the last row's createdAt and id
+        Set<String> selected = FieldSelection.parse(fields, "grievanceId", "createdAt");
+        User currentUser = authService.getCurrentUser();
+
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        Specification<GrievanceReadModel> spec = Specification.where(null);
+        if (currentUser.getRole().equals(User.Role.AGENT)) {
+            spec = spec.and(GrievanceReadModelSpecification.collectedBy(currentUser.getId()));
+        }
+        if (StringUtils.hasText(cursor)) {
+            spec = spec.and(GrievanceReadModelSpecification.before(CursorCodec.decode(cursor)));
+        }
+
+        // Fetch one extra row to know whether another page exists, without a count
+        List<GrievanceSummaryDTO> rows =
+                readModelRepository.findSummaries(spec, NEWEST_FIRST, limit + 1, selected);
+
+        boolean hasNext = rows.size() > limit;
+        List<GrievanceSummaryDTO> page = hasNext ? rows.subList(0, limit) : rows;
+
+        if (includeAttachments && FieldSelection.includes(selected, FieldSelection.ATTACHMENTS)) {
+            attachSummaryAttachments(page);
+        }
 
-        return grievances.map(GrievanceDTO::fromEntity);
+        String nextCursor = null;
+        if (hasNext) {
+            GrievanceSummaryDTO last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getGrievanceId());
+        }
+
+        return new CursorPage<>(page, page.size(), nextCursor, hasNext);
     }
 
     /*public List<GrievanceDTO> getGrievancesByFilters(String block, String gp,
@@ -168,6 +410,7 @@ public class GrievanceService {
                 .collect(Collectors.toList());
     }*/
 
+    @Transactional(readOnly = true)
     public List<GrievanceDTO> getGrievancesByFilters(
             String block,
             String gp,
@@ -178,53 +421,156 @@ public class GrievanceService {
             Grievance.GrievanceStatus status,
             String name, String contact, String fatherSpouseName) {
 
-        List<Grievance> grievances ;
-        LocalDateTime startOfDay = LocalDateTime.of(1970, 1, 1, 0, 0);;
-        LocalDateTime endOfDay =LocalDateTime.of(3000, 1, 1, 0, 0);;
+        // Only the supplied filters end up in the WHERE clause
+        GrievanceFilter filter = new GrievanceFilter();
+        filter.setBlock(block);
+        filter.setGp(gp);
+        filter.setVillageSahi(villageSahi);
+        filter.setWardNo(wardNo);
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+        filter.setStatus(status);
+        filter.setName(name);
+        filter.setContact(contact);
+        filter.setFatherSpouseName(fatherSpouseName);
+
+        List<Grievance> grievances = grievanceRepository.findAll(
+                GrievanceSpecification.filter(filter), NEWEST_FIRST);
 
+        Map<Long, List<Attachment>> attachments = loadAttachments(grievances);
 
-        if (null !=  startDate && null != endDate) {
-            startOfDay = startDate.atStartOfDay();
-            endOfDay = endDate.atStartOfDay();
+        return grievances.stream()
+                .map(grievance -> GrievanceDTO.fromEntity(grievance,
+                        attachments.getOrDefault(grievance.getGrievanceId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Everything filed from one contact number: per-status counts over all of
+     * them plus the newest {@code limit} as summaries. Both queries are range
+     * scans of (contact_normalized, created_at).
+     */
+    @Transactional(readOnly = true)
+    public CitizenHistoryResponse getCitizenHistory(String contact, int limit) {
+        String normalized = ContactNumbers.normalize(contact);
+        if (normalized == null) {
+            throw new IllegalArgumentException("Contact number must contain digits");
         }
 
-        if (status == null) {
-            grievances = grievanceRepository.findWithoutStatus(
-                    block, gp, villageSahi, wardNo,startOfDay,endOfDay,contact,fatherSpouseName, name
-            );
-        } else {
-            grievances = grievanceRepository.findWithStatus(
-                    block, gp, villageSahi, wardNo, startOfDay,endOfDay,contact,fatherSpouseName, status, name
-            );
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        long total = 0;
+        LocalDateTime firstFiledAt = null;
+        LocalDateTime lastFiledAt = null;
+        for (Object[] row : grievanceRepository.summarizeByContact(normalized)) {
+            long count = (Long) row[1];
+            statusCounts.put(String.valueOf(row[0]), count);
+            total += count;
+
+            LocalDateTime first = (LocalDateTime) row[2];
+            LocalDateTime last = (LocalDateTime) row[3];
+            if (first != null && (firstFiledAt == null || first.isBefore(firstFiledAt))) {
+                firstFiledAt = first;
+            }
+            if (last != null && (lastFiledAt == null || last.isAfter(lastFiledAt))) {
+                lastFiledAt = last;
+            }
         }
 
-        // Load attachments for each grievance
-        grievances.forEach(grievance -> {
-            List<Attachment> attachments =
-                    attachmentRepository.findByGrievance_GrievanceId(
-                            grievance.getGrievanceId());
-            grievance.setAttachments(attachments);
-        });
+        List<GrievanceSummaryDTO> grievances = total == 0 ? List.of()
+                : grievanceRepository.findSummaries(GrievanceSpecification.contactNormalized(normalized),
+                        NEWEST_FIRST, Math.min(Math.max(limit, 1), MAX_HISTORY_ROWS));
 
-        return grievances.stream()
-                .map(GrievanceDTO::fromEntity)
-                .collect(Collectors.toList());
+        return new CitizenHistoryResponse(normalized, total, total > 1, statusCounts,
+                firstFiledAt, lastFiledAt, grievances);
     }
 
+    @Transactional(readOnly = true)
+    public PageResponse<GrievanceSummaryDTO> getGrievances(GrievanceFilter filter, Pageable pageable,
+                                                           boolean includeAttachments, boolean facets,
+                                                           String fields) {
+        Set<String> selected = FieldSelection.parse(fields, "grievanceId");
 
-    public List<GrievanceDTO> getGrievances(GrievanceFilter filter) {
-        List<Grievance> grievances =
-                grievanceRepository.findAll(
-                        GrievanceSpecification.filter(filter)
-                );
+        Pageable bounded = boundSearchPage(pageable);
+        if (filter.getNameMatch() == NameMatch.CONTAINS && pageable.getSort().isUnsorted()) {
+            // Let the specification rank substring matches by similarity
+            bounded = PageRequest.of(bounded.getPageNumber(), bounded.getPageSize());
+        }
 
-        return grievances.stream()
-                .map(GrievanceDTO::fromEntity)
-                .toList();
+        Specification<Grievance> spec = GrievanceSpecification.filter(filter);
+
+        PageResponse<GrievanceSummaryDTO> grievances =
+                toPageResponse(grievanceRepository.findSummaries(spec, bounded, selected));
+
+        if (facets) {
+            // Same predicate, one grouped query
+            grievances.setFacets(grievanceRepository.findFacetCounts(spec));
+        }
+
+        if (includeAttachments && FieldSelection.includes(selected, FieldSelection.ATTACHMENTS)) {
+            attachSummaryAttachments(grievances.getContent());
+        }
+
+        return grievances;
     }
 
+    // Caps page size and depth, and only allows sort keys backed by an index
+    private Pageable boundSearchPage(Pageable pageable) {
+        int size = Math.min(pageable.getPageSize(), MAX_SEARCH_PAGE_SIZE);
+
+        if ((long) pageable.getPageNumber() * size + size > MAX_SEARCH_ROWS) {
+            throw new IllegalArgumentException("Search is limited to the first " + MAX_SEARCH_ROWS
+                    + " rows. Narrow the filter or use /grievances/all/cursor");
+        }
+
+        Sort sort = NEWEST_FIRST;
+        if (pageable.getSort().isSorted()) {
+            for (Sort.Order order : pageable.getSort()) {
+                if (!SEARCH_SORT_KEYS.contains(order.getProperty())) {
+                    throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+                }
+            }
+            sort = pageable.getSort();
+            if (sort.getOrderFor("grievanceId") == null) {
+                // Tie-breaker so pages are stable when createdAt repeats
+                sort = sort.and(Sort.by(Sort.Direction.DESC, "grievanceId"));
+            }
+        }
+
+        return PageRequest.of(pageable.getPageNumber(), size, sort);
+    }
+
+
+    /**
+     * Computes phonetic keys for rows written before the columns existed.
+     * Runs one short transaction per chunk so the pool is never held for the
+     * whole table; safe to re-run.
+     */
+    public long backfillPhoneticKeys() {
+        long updated = 0;
+        long lastId = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = grievanceRepository.findNamesAfter(lastId, PageRequest.of(0, PHONETIC_BACKFILL_CHUNK_SIZE));
+
+            List<Object[]> rows = chunk;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Object[] row : rows) {
+                    grievanceRepository.setPhoneticKeys((Long) row[0],
+                            PhoneticEncoder.encode((String) row[1]),
+                            PhoneticEncoder.encode((String) row[2]));
+                }
+            });
+
+            if (!chunk.isEmpty()) {
+                lastId = (Long) chunk.get(chunk.size() - 1)[0];
+            }
+            updated += chunk.size();
+        } while (chunk.size() == PHONETIC_BACKFILL_CHUNK_SIZE);
+
+        return updated;
+    }
 
-    @Transactional
     public void deleteGrievances(List<Long> grievanceIds) {
 
         User currentUser = authService.getCurrentUser();
@@ -239,30 +585,58 @@ public class GrievanceService {
             throw new IllegalArgumentException("Grievance ID list cannot be empty");
         }
 
-        // Fetch all grievances at once
-        List<Grievance> grievances = grievanceRepository.findAllById(grievanceIds);
+        List<String> s3Keys = transactionTemplate.execute(status -> {
+            if (grievanceRepository.countByGrievanceIdIn(grievanceIds) != grievanceIds.size()) {
+                throw new ResourceNotFoundException("One or more grievances not found");
+            }
 
-        if (grievances.size() != grievanceIds.size()) {
-            throw new ResourceNotFoundException("One or more grievances not found");
-        }
+            // Collect all S3 keys first, in one query
+            List<String> keys = attachmentRepository.findByGrievance_GrievanceIdIn(grievanceIds).stream()
+                    .map(Attachment::getS3Key)
+                    .toList();
 
-        // Collect all S3 keys first
-        List<String> s3Keys = grievances.stream()
-                .filter(g -> g.getAttachments() != null)
-                .flatMap(g -> g.getAttachments().stream())
-                .map(Attachment::getS3Key)
-                .toList();
+            // Delete attachments in bulk
+            attachmentRepository.deleteByGrievance_GrievanceIdIn(grievanceIds);
 
-        // Delete from S3
+            // Delete grievances in bulk
+            grievanceRepository.deleteAllById(grievanceIds);
+
+            eventPublisher.publishEvent(GrievanceChangedEvent.deleted(grievanceIds));
+            return keys;
+        });
+
+        // Objects go once the rows are committed, with no connection held
         for (String key : s3Keys) {
             s3Service.deleteFile(key);
         }
+    }
 
-        // Delete attachments in bulk
-        attachmentRepository.deleteByGrievance_GrievanceIdIn(grievanceIds);
+    // Fetches attachments for a set of grievances with a single IN query
+    private Map<Long, List<Attachment>> loadAttachments(List<Grievance> grievances) {
+        return loadAttachmentsByIds(grievances.stream()
+                .map(Grievance::getGrievanceId)
+                .toList());
+    }
 
-        // Delete grievances in bulk
-        grievanceRepository.deleteAllById(grievanceIds);
+    private Map<Long, List<Attachment>> loadAttachmentsByIds(List<Long> grievanceIds) {
+        if (grievanceIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return attachmentRepository.findByGrievance_GrievanceIdIn(grievanceIds).stream()
+                .collect(Collectors.groupingBy(a -> a.getGrievance().getGrievanceId()));
+    }
+
+    private void attachSummaryAttachments(List<GrievanceSummaryDTO> summaries) {
+        Map<Long, List<Attachment>> attachments = loadAttachmentsByIds(summaries.stream()
+                .map(GrievanceSummaryDTO::getGrievanceId)
+                .toList());
+
+        for (GrievanceSummaryDTO summary : summaries) {
+            summary.setAttachments(attachments.getOrDefault(summary.getGrievanceId(), List.of()).stream()
+                    .map(AttachmentDTO::fromEntity)
+                    .toList());
+        }
     }
 
     private void mapRequestToEntity(GrievanceRequest request, Grievance grievance) {
@@ -306,10 +680,73 @@ public class GrievanceService {
         }
     }
 
-    public byte[] exportToCsv(List<Long> ids) throws Exception {
-        List<Grievance> grievances =
-                grievanceRepository.findAllWithAttachmentsByIdIn(ids);
-        return generateCsv(grievances);
+    /**
+     * Writes the CSV export straight to {@code out}. Grievances and their attachment
+     * URLs come from two forward-only cursors in grievance id order and are merged
+     * row by row, so memory stays flat however many rows are exported. The ids are
+     * sorted and queried in chunks, keeping each IN list far below the driver's
+     * 32767 bind parameter limit; the output order is unchanged.
+     */
+    @Transactional(readOnly = true)
+    public void writeCsv(List<Long> ids, OutputStream out) throws IOException {
+        List<Long> sorted = ids.stream().distinct().sorted().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += CSV_ID_CHUNK_SIZE) {
+            chunks.add(sorted.subList(from, Math.min(from + CSV_ID_CHUNK_SIZE, sorted.size())));
+        }
+
+        int maxAttachments = 0;
+        for (List<Long> chunk : chunks) {
+            maxAttachments = Math.max(maxAttachments, attachmentRepository
+                    .findTopAttachmentCounts(chunk, PageRequest.of(0, 1))
+                    .stream()
+                    .findFirst()
+                    .map(Long::intValue)
+                    .orElse(0));
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        writer.write('\uFEFF');
+        writer.write(String.join(",", csvHeaders(maxAttachments)));
+        writer.write('\n');
+
+        for (List<Long> chunk : chunks) {
+            writeCsvRows(chunk, writer);
+        }
+
+        writer.flush();
+    }
+
+    private void writeCsvRows(List<Long> ids, Writer writer) throws IOException {
+        try (Stream<Grievance> grievances = grievanceRepository.streamForExportByIdIn(ids);
+             Stream<Object[]> attachmentUrls = attachmentRepository.streamUrlsByGrievanceIdIn(ids)) {
+
+            Iterator<Object[]> urls = attachmentUrls.iterator();
+            Object[] nextUrl = urls.hasNext() ? urls.next() : null;
+            int written = 0;
+
+            for (Iterator<Grievance> it = grievances.iterator(); it.hasNext(); ) {
+                Grievance g = it.next();
+                List<String> row = csvRow(g);
+
+                // Both cursors are ordered by grievance id
+                while (nextUrl != null && ((Long) nextUrl[0]) <= g.getGrievanceId()) {
+                    if (nextUrl[0].equals(g.getGrievanceId())) {
+                        row.add(escapeCsv(nextUrl[1]));
+                    }
+                    nextUrl = urls.hasNext() ? urls.next() : null;
+                }
+
+                writer.write(String.join(",", row));
+                writer.write('\n');
+
+                // Keep the persistence context from growing with the export
+                if (++written % CSV_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.clear();
     }
 
 
@@ -319,6 +756,7 @@ public class GrievanceService {
         return generateExcel(grievances);
     }*/
 
+    @Transactional(readOnly = true)
     public byte[] exportToPdf(List<Long> ids) throws Exception {
         List<Grievance> grievances =
                 grievanceRepository.findAllWithAttachmentsByIdIn(ids);
@@ -359,17 +797,7 @@ public class GrievanceService {
 
 
 
-    private byte[] generateCsv(List<Grievance> grievances) throws Exception {
-
-        StringBuilder sb = new StringBuilder();
-
-        // ===== Find max attachments count =====
-        int maxAttachments = grievances.stream()
-                .mapToInt(g -> g.getAttachments() == null ? 0 : g.getAttachments().size())
-                .max()
-                .orElse(0);
-
-        // ===== Headers =====
+    private List<String> csvHeaders(int maxAttachments) {
         List<String> headers = new ArrayList<>(List.of(
                 "Block", "GP", "Village/Sahi", "Address", "Ward No",
                 "Name", "Father/Spouse Name", "Contact",
@@ -382,48 +810,37 @@ public class GrievanceService {
         for (int i = 1; i <= maxAttachments; i++) {
             headers.add("Attachment " + i);
         }
+        return headers;
+    }
 
-        sb.append(String.join(",", headers)).append("\n");
-
-        // ===== Data Rows =====
-        for (Grievance g : grievances) {
-
-            List<String> row = new ArrayList<>();
-
-            row.add(escapeCsv(g.getBlock()));
-            row.add(escapeCsv(g.getGp()));
-            row.add(escapeCsv(g.getVillageSahi()));
-            row.add(escapeCsv(g.getAddress()));
-            row.add(escapeCsv(g.getWardNo()));
-            row.add(escapeCsv(g.getName()));
-            row.add(escapeCsv(g.getFatherSpouseName()));
-            row.add(escapeCsv(g.getContact()));
-
-            row.add(escapeCsv(g.getTopic1()));
-            row.add(escapeCsv(g.getTopic2()));
-            row.add(escapeCsv(g.getTopic3()));
-            row.add(escapeCsv(g.getTopic4()));
-            row.add(escapeCsv(g.getTopic5()));
-
-            row.add(escapeCsv(g.getGrievanceDetails()));
-            row.add(escapeCsv(g.getAgentRemarks()));
-            row.add(escapeCsv(g.getAgentName()));
-            row.add(escapeCsv(g.getWorkGivenTo()));
-            row.add(escapeCsv(DateFormatter.formatToDDMMYY(g.getAdminDate())));
-            row.add(escapeCsv(g.getAdminRemarks()));
-            row.add(escapeCsv(DateFormatter.formatToDDMMYY(g.getCreatedAt())));
-
-            if (g.getAttachments() != null) {
-                for (Attachment att : g.getAttachments()) {
-                    row.add(escapeCsv(att.getS3Url()));
-                }
-            }
-
-            sb.append(String.join(",", row)).append("\n");
-        }
-
-        return ("\uFEFF" + sb.toString()).getBytes(StandardCharsets.UTF_8);
-
+    private List<String> csvRow(Grievance g) {
+
+        List<String> row = new ArrayList<>();
+
+        row.add(escapeCsv(g.getBlock()));
+        row.add(escapeCsv(g.getGp()));
+        row.add(escapeCsv(g.getVillageSahi()));
+        row.add(escapeCsv(g.getAddress()));
+        row.add(escapeCsv(g.getWardNo()));
+        row.add(escapeCsv(g.getName()));
+        row.add(escapeCsv(g.getFatherSpouseName()));
+        row.add(escapeCsv(g.getContact()));
+
+        row.add(escapeCsv(g.getTopic1()));
+        row.add(escapeCsv(g.getTopic2()));
+        row.add(escapeCsv(g.getTopic3()));
+        row.add(escapeCsv(g.getTopic4()));
+        row.add(escapeCsv(g.getTopic5()));
+
+        row.add(escapeCsv(g.getGrievanceDetails()));
+        row.add(escapeCsv(g.getAgentRemarks()));
+        row.add(escapeCsv(g.getAgentName()));
+        row.add(escapeCsv(g.getWorkGivenTo()));
+        row.add(escapeCsv(DateFormatter.formatToDDMMYY(g.getAdminDate())));
+        row.add(escapeCsv(g.getAdminRemarks()));
+        row.add(escapeCsv(DateFormatter.formatToDDMMYY(g.getCreatedAt())));
+
+        return row;
     }
 
 
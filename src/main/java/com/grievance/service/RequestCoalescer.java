@@ -0,0 +1,122 @@
+package com.grievance.service;
+
+import com.grievance.config.RecentWrites;
+import com.grievance.config.ShardContext;
+import com.grievance.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical concurrent reads: the first caller for a key
+ * runs the loader on its own thread, callers arriving while it runs wait for
+ * that result instead of issuing the same queries. Nothing is cached once the
+ * call completes.
+ * <p>
+ * Waiters give up after {@code coalescing.max-wait-ms} and load for
+ * themselves. Outcomes are counted as {@code singleflight.calls}, tagged by
+ * name and result (leader, coalesced, timeout).
+ * <p>
+ * {@link #executeReadOnly} opens the read-only transaction inside the leader,
+ * so waiting callers never hold a transaction or connection.
+ * <p>
+ * A caller only joins a flight that started at least
+ * {@code app.datasource.replica.read-your-writes-ms} after its own last
+ * grievance write committed (see RecentWrites). An earlier flight may have read before that
+ * write, or on a replica that has not caught up with it, so the caller loads
+ * for itself instead (result "own-write") and is routed like any other read.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer {
+
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+    private final RecentWrites recentWrites;
+
+    @Value("${coalescing.max-wait-ms:5000}")
+    private long maxWaitMs;
+
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private record Flight(CompletableFuture<Object> result, long startedAt) {
+    }
+
+    public <T> T executeReadOnly(String name, Object key, Supplier<T> loader) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return execute(name, key, () -> readOnly.execute(status -> loader.get()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        // Sessions are bound to a shard, so identical keys on different shards are different reads
+        String flightKey = name + ":" + ShardContext.current() + ":" + key;
+        Flight flight = new Flight(new CompletableFuture<>(), System.currentTimeMillis());
+        Flight existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing == null) {
+            count(name, "leader");
+            try {
+                T result = loader.get();
+                flight.result().complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                flight.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, flight);
+            }
+        }
+
+        Long lastWrite = recentWrites.lastWriteAt(SecurityUtils.getCurrentUsername());
+        if (lastWrite != null && existing.startedAt() < lastWrite + readYourWritesMs) {
+            count(name, "own-write");
+            return loader.get();
+        }
+
+        try {
+            T result = (T) existing.result().get(maxWaitMs, TimeUnit.MILLISECONDS);
+            count(name, "coalesced");
+            return result;
+        } catch (TimeoutException e) {
+            count(name, "timeout");
+            return loader.get();
+        } catch (ExecutionException e) {
+            // The leader's failure (e.g. ResourceNotFoundException) is ours too
+            count(name, "coalesced");
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + flightKey, e);
+        }
+    }
+
+    private void count(String name, String result) {
+        Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -1,6 +1,8 @@
 package com.grievance.service;
 
+import com.grievance.config.ConnectionLeaseMonitor;
 import com.grievance.exception.FileStorageException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -12,11 +14,13 @@ import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
@@ -24,8 +28,12 @@ import java.util.Map;
 import java.util.UUID;
 
 @Service
+@RequiredArgsConstructor
 public class S3Service {
 
+    // S3 calls must not run while a DB connection is held; see ConnectionLeaseMonitor
+    private final ConnectionLeaseMonitor leaseMonitor;
+
     @Value("${aws.s3.bucket}")
     private String bucketName;
 
@@ -57,6 +65,7 @@ public class S3Service {
     // existing uploadFile (server-side) kept unchanged (for admin fallback)
     public String uploadFile(MultipartFile file, String key) throws IOException {
         validateFile(file);
+        leaseMonitor.externalCall("s3.put");
 
         S3Client s3Client = getS3Client();
 
@@ -83,6 +92,7 @@ public class S3Service {
     // generate presigned PUT URL for a specific key
     public String generatePresignedPutUrl(String key, String contentType, int expirySeconds) {
         validateFileName(key); // reuse validation if needed
+        leaseMonitor.externalCall("s3.presign");
 
         S3Presigner presigner = getS3Presigner();
 
@@ -107,8 +117,44 @@ public class S3Service {
         }
     }
 
+    /**
+     * Stores a generated export (e.g. the CSV written to a temp file) and
+     * returns a pre-signed GET URL that downloads it as {@code fileName}.
+     */
+    public String uploadExport(Path file, String key, String contentType, String fileName) {
+        leaseMonitor.externalCall("s3.put");
+
+        S3Client s3Client = getS3Client();
+        S3Presigner presigner = getS3Presigner();
+
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .contentType(contentType)
+                            .build(),
+                    RequestBody.fromFile(file));
+
+            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                    .getObjectRequest(GetObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .responseContentType(contentType)
+                            .responseContentDisposition("attachment; filename=" + fileName)
+                            .build())
+                    .signatureDuration(Duration.ofSeconds(presignedUrlExpiry))
+                    .build();
+            return presigner.presignGetObject(presignRequest).url().toString();
+        } catch (SdkServiceException e) {
+            throw new FileStorageException("AWS Service error while uploading export: " + e.getMessage(), e);
+        } catch (SdkClientException e) {
+            throw new FileStorageException("AWS Client error while uploading export: " + e.getMessage(), e);
+        }
+    }
+
     // HEAD object to check existence & size
     public HeadObjectResponse headObject(String key) {
+        leaseMonitor.externalCall("s3.head");
         S3Client s3Client = getS3Client();
         try {
             HeadObjectRequest headReq = HeadObjectRequest.builder()
@@ -127,6 +173,7 @@ public class S3Service {
 
 
     public void deleteFile(String key) {
+        leaseMonitor.externalCall("s3.delete");
         S3Client s3Client = getS3Client();
 
         try {
@@ -0,0 +1,89 @@
+package com.grievance.service;
+
+import com.grievance.config.ShardContext;
+import com.grievance.config.ShardRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Scatter-gather over every shard: runs the same read once per schema, in
+ * parallel, each in its own read-only transaction bound to that schema, and
+ * returns the per-shard results for the caller to merge.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardExecutor {
+
+    private final ShardRegistry shardRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(shardRegistry.getParallelism(), 1), runnable -> {
+            Thread thread = new Thread(runnable, "shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public <T> List<T> scatter(Supplier<T> task) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return scatter(readOnly, task);
+    }
+
+    /**
+     * Like {@link #scatter}, but each shard's reads share one REPEATABLE READ
+     * snapshot on the primary, for callers that replay changes committed after it.
+     */
+    public <T> List<T> scatterSnapshot(Supplier<T> task) {
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return scatter(snapshot, task);
+    }
+
+    private <T> List<T> scatter(TransactionTemplate transaction, Supplier<T> task) {
+        List<CompletableFuture<T>> futures = shardRegistry.allSchemas().stream()
+                .map(schema -> CompletableFuture.supplyAsync(() -> runOn(schema, transaction, task), executor))
+                .toList();
+
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private <T> T runOn(String schema, TransactionTemplate transaction, Supplier<T> task) {
+        ShardContext.set(schema);
+        try {
+            return transaction.execute(status -> task.get());
+        } finally {
+            ShardContext.clear();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.grievance.service;
+
+/**
+ * Published when a user's display name changes. The read model copies the
+ * collector and assignee names into its rows, so they are re-projected
+ * before the rename commits.
+ */
+public record UserRenamedEvent(Long userId, String name) {
+}
@@ -8,6 +8,7 @@ import com.grievance.exception.UnauthorizedException;
 import com.grievance.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +26,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional
@@ -90,8 +93,9 @@ public class UserService {
         }
 
         // Update fields
-        if (userDTO.getName() != null) {
+        if (userDTO.getName() != null && !Objects.equals(userDTO.getName(), user.getName())) {
             user.setName(userDTO.getName());
+            eventPublisher.publishEvent(new UserRenamedEvent(userId, userDTO.getName()));
         }
 
         if (userDTO.getBlockAssigned() != null) {
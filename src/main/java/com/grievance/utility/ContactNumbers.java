@@ -0,0 +1,25 @@
+package com.grievance.utility;
+
+/**
+ * Canonical form of citizen contact numbers, so "+91 98765-43210",
+ * "09876543210" and "9876543210" compare equal.
+ */
+public class ContactNumbers {
+
+    public static final int MAX_DIGITS = 10;
+
+    /**
+     * Digits only, keeping the last ten (country code and trunk 0 dropped).
+     * Returns null when there are no digits at all.
+     */
+    public static String normalize(String contact) {
+        if (contact == null) {
+            return null;
+        }
+        String digits = contact.replaceAll("\\D", "");
+        if (digits.isEmpty()) {
+            return null;
+        }
+        return digits.length() > MAX_DIGITS ? digits.substring(digits.length() - MAX_DIGITS) : digits;
+    }
+}
@@ -0,0 +1,56 @@
+package com.grievance.utility;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields=} parameter of the grievance list endpoints into
+ * the set of GrievanceSummaryDTO properties to select. Fields that are not
+ * selected stay null and are dropped by the DTO's NON_NULL inclusion.
+ */
+public class FieldSelection {
+
+    public static final String ATTACHMENTS = "attachments";
+
+    // Column-backed summary properties, in response order
+    public static final Set<String> SUMMARY_COLUMNS = Set.of(
+            "grievanceId", "block", "gp", "villageSahi", "wardNo", "name", "fatherSpouseName", "contact",
+            "topic1", "topic2", "topic3", "topic4", "topic5", "agentRemarks", "agentName", "workGivenTo",
+            "status", "adminDate", "createdAt", "updatedAt",
+            "collectedById", "collectedByName", "assignedToId", "assignedToName", "attachmentCount"
+    );
+
+    /**
+     * Returns null (select everything) when no fields were requested; otherwise
+     * the requested fields plus {@code required}. Unknown names are rejected.
+     */
+    public static Set<String> parse(String fields, String... required) {
+        if (!StringUtils.hasText(fields)) {
+            return null;
+        }
+
+        Set<String> selected = new LinkedHashSet<>(Set.of(required));
+        for (String field : StringUtils.commaDelimitedListToSet(fields)) {
+            String name = field.trim();
+            if (!SUMMARY_COLUMNS.contains(name) && !ATTACHMENTS.equals(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    public static boolean includes(Set<String> fields, String name) {
+        return fields == null || fields.contains(name);
+    }
+
+    // Sets one selected column on a summary row; enums are exposed by name
+    public static void apply(Object target, String property, Object value) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(target);
+        wrapper.setPropertyValue(property, value instanceof Enum<?> e ? e.name() : value);
+    }
+}
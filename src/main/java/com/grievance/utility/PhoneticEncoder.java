@@ -0,0 +1,180 @@
+package com.grievance.utility;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces a citizen name to a spelling-insensitive key, so "Pradhan",
+ * "Pradhana", "PRADHAN" and "ପ୍ରଧାନ" all encode to the same value.
+ * <p>
+ * Odia script is transliterated to Latin first, then the spellings that vary
+ * between writers (aspirates, sh/s, v/w/b, doubled vowels) are folded before
+ * each word is reduced with Double Metaphone. Word codes are sorted so word
+ * order does not matter.
+ */
+public class PhoneticEncoder {
+
+    public static final int MAX_KEY_LENGTH = 150;
+
+    private static final int MAX_CODE_LENGTH = 6;
+
+    private static final char VIRAMA = '୍';
+    private static final char NUKTA = '଼';
+
+    private static final Map<Character, String> ODIA_CONSONANTS = new HashMap<>();
+    private static final Map<Character, String> ODIA_VOWELS = new HashMap<>();
+    private static final Map<Character, String> ODIA_VOWEL_SIGNS = new HashMap<>();
+
+    static {
+        String[][] consonants = {
+                {"କ", "k"}, {"ଖ", "kh"}, {"ଗ", "g"}, {"ଘ", "gh"}, {"ଙ", "ng"},
+                {"ଚ", "ch"}, {"ଛ", "chh"}, {"ଜ", "j"}, {"ଝ", "jh"}, {"ଞ", "ny"},
+                {"ଟ", "t"}, {"ଠ", "th"}, {"ଡ", "d"}, {"ଢ", "dh"}, {"ଣ", "n"},
+                {"ତ", "t"}, {"ଥ", "th"}, {"ଦ", "d"}, {"ଧ", "dh"}, {"ନ", "n"},
+                {"ପ", "p"}, {"ଫ", "ph"}, {"ବ", "b"}, {"ଭ", "bh"}, {"ମ", "m"},
+                // ଯ is pronounced "ja" in Odia; ୟ is the "ya"
+                {"ଯ", "j"}, {"ର", "r"}, {"ଲ", "l"}, {"ଳ", "l"}, {"ଵ", "b"},
+                {"ଶ", "s"}, {"ଷ", "s"}, {"ସ", "s"}, {"ହ", "h"},
+                {"ଡ଼", "r"}, {"ଢ଼", "rh"}, {"ୟ", "y"}, {"ୱ", "w"}
+        };
+        for (String[] c : consonants) {
+            ODIA_CONSONANTS.put(c[0].charAt(0), c[1]);
+        }
+
+        String[][] vowels = {
+                {"ଅ", "a"}, {"ଆ", "a"}, {"ଇ", "i"}, {"ଈ", "i"}, {"ଉ", "u"},
+                {"ଊ", "u"}, {"ଋ", "ru"}, {"ଏ", "e"}, {"ଐ", "ai"}, {"ଓ", "o"},
+                {"ଔ", "au"},
+                // anusvara, chandrabindu, visarga
+                {"ଂ", "n"}, {"ଁ", "n"}, {"ଃ", "h"}
+        };
+        for (String[] v : vowels) {
+            ODIA_VOWELS.put(v[0].charAt(0), v[1]);
+        }
+
+        String[][] signs = {
+                {"ା", "a"}, {"ି", "i"}, {"ୀ", "i"}, {"ୁ", "u"}, {"ୂ", "u"},
+                {"ୃ", "ru"}, {"େ", "e"}, {"ୈ", "ai"}, {"ୋ", "o"}, {"ୌ", "au"}
+        };
+        for (String[] s : signs) {
+            ODIA_VOWEL_SIGNS.put(s[0].charAt(0), s[1]);
+        }
+    }
+
+    // Folded in order; longer sequences first so "chh" is not read as "ch" + "h"
+    private static final String[][] FOLDS = {
+            {"chh", "ch"}, {"kh", "k"}, {"gh", "g"}, {"jh", "j"}, {"th", "t"}, {"dh", "d"},
+            {"ph", "p"}, {"bh", "b"}, {"rh", "r"}, {"sh", "s"},
+            {"v", "b"}, {"w", "b"}, {"z", "j"}, {"q", "k"},
+            {"oo", "u"}, {"ee", "i"}
+    };
+
+    private static final DoubleMetaphone METAPHONE = new DoubleMetaphone();
+
+    static {
+        METAPHONE.setMaxCodeLen(MAX_CODE_LENGTH);
+    }
+
+    /**
+     * Returns the phonetic key for {@code name}, or null when the name has no
+     * encodable letters.
+     */
+    public static String encode(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+
+        String latin = fold(transliterate(name));
+
+        String key = Arrays.stream(latin.split(" "))
+                .filter(word -> !word.isEmpty())
+                .map(METAPHONE::doubleMetaphone)
+                .filter(code -> code != null && !code.isEmpty())
+                .sorted()
+                .collect(Collectors.joining(" "));
+
+        if (key.isEmpty()) {
+            return null;
+        }
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    /**
+     * Odia script to lower-case Latin; other characters pass through unchanged.
+     * Consonants carry the inherent "a" unless a vowel sign or virama follows.
+     */
+    static String transliterate(String value) {
+        StringBuilder out = new StringBuilder(value.length() * 2);
+        boolean inherentVowel = false;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            String sign = ODIA_VOWEL_SIGNS.get(c);
+            if (sign != null) {
+                out.append(sign);
+                inherentVowel = false;
+                continue;
+            }
+            if (c == VIRAMA) {
+                inherentVowel = false;
+                continue;
+            }
+            if (c == NUKTA) {
+                // ଡ଼ / ଢ଼ written as base letter + nukta
+                replaceTrailing(out, "dh", "rh");
+                replaceTrailing(out, "d", "r");
+                continue;
+            }
+
+            if (inherentVowel) {
+                out.append('a');
+                inherentVowel = false;
+            }
+
+            String consonant = ODIA_CONSONANTS.get(c);
+            if (consonant != null) {
+                out.append(consonant);
+                inherentVowel = true;
+                continue;
+            }
+
+            String vowel = ODIA_VOWELS.get(c);
+            out.append(vowel != null ? vowel : String.valueOf(c));
+        }
+
+        if (inherentVowel) {
+            out.append('a');
+        }
+        return out.toString();
+    }
+
+    private static String fold(String value) {
+        // Strip accents, then keep letters only, one space between words
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z]+", " ")
+                .trim();
+
+        for (String[] rule : FOLDS) {
+            folded = folded.replace(rule[0], rule[1]);
+        }
+
+        // "Mohapatra" vs "Mohappatra"
+        return folded.replaceAll("([a-z])\\1+", "$1");
+    }
+
+    private static void replaceTrailing(StringBuilder out, String from, String to) {
+        int start = out.length() - from.length();
+        if (start >= 0 && out.substring(start).equals(from)) {
+            out.replace(start, out.length(), to);
+        }
+    }
+}
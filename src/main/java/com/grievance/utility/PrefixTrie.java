@@ -0,0 +1,172 @@
+package com.grievance.utility;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix index with per-node top-k by frequency, so a lookup
+ * is a walk down the prefix plus a copy of at most k entries. Memory grows
+ * with the number of nodes (one per distinct prefix character, a few hundred
+ * bytes each with its child map and top list), so the cap is on nodes: once
+ * {@code maxNodes} is reached, terms that need new nodes are dropped while
+ * counts of known terms keep updating.
+ */
+public class PrefixTrie {
+
+    public record Suggestion(String value, long count) {
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Entry> top = new ArrayList<>(2);
+        private Entry term;
+    }
+
+    // One per distinct term, shared by every node on its path
+    private static final class Entry {
+        private final String display;
+        private long count;
+
+        private Entry(String display) {
+            this.display = display;
+        }
+    }
+
+    private final int topK;
+    private final int maxNodes;
+    private final int maxTermLength;
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int nodes;
+    private int terms;
+
+    public PrefixTrie(int topK, int maxNodes, int maxTermLength) {
+        this.topK = topK;
+        this.maxNodes = maxNodes;
+        this.maxTermLength = maxTermLength;
+    }
+
+    /**
+     * Adds {@code delta} occurrences of {@code value}. A delta of 0 registers
+     * the term without changing the frequency of an existing one.
+     */
+    public void add(String value, long delta) {
+        String key = normalize(value);
+        if (key.isEmpty() || key.length() > maxTermLength) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            int depth = 0;
+            while (depth < key.length()) {
+                Node next = node.children.get(key.charAt(depth));
+                if (next == null) {
+                    break;
+                }
+                node = next;
+                path.add(node);
+                depth++;
+            }
+
+            // Check the whole remaining path against the cap so no dangling branch is left behind
+            if (nodes + (key.length() - depth) > maxNodes) {
+                return;
+            }
+            for (; depth < key.length(); depth++) {
+                Node next = new Node();
+                node.children.put(key.charAt(depth), next);
+                nodes++;
+                node = next;
+                path.add(node);
+            }
+
+            if (node.term == null) {
+                node.term = new Entry(value.trim());
+                terms++;
+                delta = Math.max(delta, 1);
+            }
+            node.term.count += delta;
+
+            // Counts only grow, so the entry can only move up in each list on its path
+            for (Node onPath : path) {
+                promote(onPath.top, node.term);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            return node.top.stream()
+                    .limit(Math.min(limit, topK))
+                    .map(e -> new Suggestion(e.display, e.count))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void promote(List<Entry> top, Entry entry) {
+        int index = top.indexOf(entry);
+        if (index < 0) {
+            if (top.size() < topK) {
+                top.add(entry);
+                index = top.size() - 1;
+            } else if (top.get(top.size() - 1).count < entry.count) {
+                index = top.size() - 1;
+                top.set(index, entry);
+            } else {
+                return;
+            }
+        }
+        // Bubble up to keep the list sorted by count, descending
+        while (index > 0 && top.get(index - 1).count < entry.count) {
+            top.set(index, top.get(index - 1));
+            top.set(index - 1, entry);
+            index--;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
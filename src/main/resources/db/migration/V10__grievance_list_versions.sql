@@ -0,0 +1,17 @@
+-- Change counters behind the /grievances/all ETags (GrievanceListVersion).
+-- GrievanceReadModelProjector bumps scope 0 (whole table) and the collecting
+-- agent's scope in the same transaction as each grievance change. The table
+-- stays in public, so shards share one counter per scope.
+
+CREATE TABLE IF NOT EXISTS grievance_list_versions (
+    scope_id    BIGINT PRIMARY KEY,
+    version     BIGINT    NOT NULL,
+    updated_at  TIMESTAMP NOT NULL
+);
+
+-- Start every existing scope at 1 so ETags issued before this change no longer match
+INSERT INTO grievance_list_versions (scope_id, version, updated_at)
+SELECT 0, 1, now()
+UNION ALL
+SELECT DISTINCT collected_by, 1, now() FROM grievances_excel WHERE collected_by IS NOT NULL
+ON CONFLICT (scope_id) DO NOTHING;
@@ -0,0 +1,18 @@
+-- Optimistic locking for Grievance and GrievanceText (@Version). Every schema
+-- holding the grievance tables gets the column, so existing block shards
+-- (V8__block_shards.sql) match public; shards created later copy it via LIKE.
+
+DO $$
+DECLARE
+    shard TEXT;
+BEGIN
+    FOR shard IN
+        SELECT table_schema FROM information_schema.tables WHERE table_name = 'grievances_excel'
+    LOOP
+        EXECUTE format('ALTER TABLE %I.grievances_excel ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0',
+                       shard);
+        EXECUTE format('ALTER TABLE %I.grievance_texts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0',
+                       shard);
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,16 @@
+-- grievance_read_model.search_text (V3) was rebuilt on every write but never
+-- queried: filtered search runs on grievances_excel. Dropping the column also
+-- drops idx_grievance_read_model_search_text_trgm. Applied to every schema
+-- holding the read model, so existing block shards (V8) match public.
+
+DO $$
+DECLARE
+    shard TEXT;
+BEGIN
+    FOR shard IN
+        SELECT table_schema FROM information_schema.tables WHERE table_name = 'grievance_read_model'
+    LOOP
+        EXECUTE format('ALTER TABLE %I.grievance_read_model DROP COLUMN IF EXISTS search_text', shard);
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,36 @@
+-- Indexes backing GrievanceSpecification filters and keyset paging.
+-- Production runs with ddl-auto: none, so apply these by hand (or with any
+-- Flyway-compatible runner) in version order. CONCURRENTLY avoids locking
+-- grievances_excel for writes; it cannot run inside a transaction block.
+
+-- Keyset paging: /grievances/all/cursor (admin and agent scopes)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_created_at_id
+    ON grievances_excel (created_at, grievance_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_collected_by_created_at_id
+    ON grievances_excel (collected_by, created_at, grievance_id);
+
+-- Equality filters, most selective workflow path first (block -> gp -> ward)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_block_gp_ward_created_at
+    ON grievances_excel (block, gp, ward_no, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_block_status_created_at
+    ON grievances_excel (block, status, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_status_created_at
+    ON grievances_excel (status, created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_village_sahi
+    ON grievances_excel (village_sahi);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_contact
+    ON grievances_excel (contact);
+
+-- Prefix search on lower(name) / lower(father_spouse_name): LIKE 'abc%'
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_lower_name_prefix
+    ON grievances_excel (lower(name) text_pattern_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_lower_father_spouse_name_prefix
+    ON grievances_excel (lower(father_spouse_name) text_pattern_ops);
+
+ANALYZE grievances_excel;
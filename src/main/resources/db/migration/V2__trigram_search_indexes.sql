@@ -0,0 +1,30 @@
+-- Substring search (GrievanceFilter.nameMatch=CONTAINS and topic) on pg_trgm.
+-- GIN trigram indexes serve LIKE '%x%' on the lowered columns and
+-- similarity() ranking. Terms shorter than 3 characters still match but
+-- cannot be narrowed by the index.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_name_trgm
+    ON grievances_excel USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_father_spouse_name_trgm
+    ON grievances_excel USING gin (lower(father_spouse_name) gin_trgm_ops);
+
+-- One index per topic column so the OR over topic1..topic5 becomes a BitmapOr
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_topic_1_trgm
+    ON grievances_excel USING gin (lower(topic_1) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_topic_2_trgm
+    ON grievances_excel USING gin (lower(topic_2) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_topic_3_trgm
+    ON grievances_excel USING gin (lower(topic_3) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_topic_4_trgm
+    ON grievances_excel USING gin (lower(topic_4) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_topic_5_trgm
+    ON grievances_excel USING gin (lower(topic_5) gin_trgm_ops);
+
+ANALYZE grievances_excel;
@@ -0,0 +1,68 @@
+-- Denormalized list rows (GrievanceReadModel). Maintained by the application in
+-- the same transaction as each grievance/attachment change; this script only
+-- creates the table and backfills existing grievances.
+
+CREATE TABLE IF NOT EXISTS grievance_read_model (
+    grievance_id        BIGINT PRIMARY KEY,
+    block               VARCHAR(100),
+    gp                  VARCHAR(100),
+    village_sahi        VARCHAR(150),
+    ward_no             VARCHAR(20),
+    name                VARCHAR(150),
+    father_spouse_name  VARCHAR(150),
+    contact             VARCHAR(20),
+    topic_1             VARCHAR(500),
+    topic_2             VARCHAR(500),
+    topic_3             VARCHAR(500),
+    topic_4             VARCHAR(500),
+    topic_5             VARCHAR(500),
+    agent_remarks       VARCHAR(150),
+    agent_name          VARCHAR(150),
+    work_given_to       VARCHAR(150),
+    status              VARCHAR(50),
+    admin_date          DATE,
+    created_at          TIMESTAMP,
+    updated_at          TIMESTAMP,
+    collected_by_id     BIGINT,
+    collected_by_name   VARCHAR(255),
+    assigned_to_id      BIGINT,
+    assigned_to_name    VARCHAR(255),
+    attachment_count    INTEGER NOT NULL DEFAULT 0,
+    search_text         TEXT
+);
+
+-- search_text must match GrievanceReadModelProjector.searchText
+INSERT INTO grievance_read_model (
+    grievance_id, block, gp, village_sahi, ward_no, name, father_spouse_name, contact,
+    topic_1, topic_2, topic_3, topic_4, topic_5, agent_remarks, agent_name, work_given_to,
+    status, admin_date, created_at, updated_at,
+    collected_by_id, collected_by_name, assigned_to_id, assigned_to_name,
+    attachment_count, search_text)
+SELECT g.grievance_id, g.block, g.gp, g.village_sahi, g.ward_no, g.name, g.father_spouse_name, g.contact,
+       g.topic_1, g.topic_2, g.topic_3, g.topic_4, g.topic_5, g.agent_remarks, g.agent_name, g.work_given_to,
+       g.status::text, g.admin_date, g.created_at, g.updated_at,
+       c.id, c.name, a.id, a.name,
+       COALESCE(ac.attachment_count, 0),
+       lower(concat_ws(' ', g.name, g.father_spouse_name, g.contact, g.village_sahi,
+                       g.topic_1, g.topic_2, g.topic_3, g.topic_4, g.topic_5))
+FROM grievances_excel g
+LEFT JOIN users c ON c.id = g.collected_by
+LEFT JOIN users a ON a.id = g.assigned_to
+LEFT JOIN (
+    SELECT grievance_id, COUNT(*) AS attachment_count
+    FROM grievance_attachments
+    GROUP BY grievance_id
+) ac ON ac.grievance_id = g.grievance_id
+ON CONFLICT (grievance_id) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_grievance_read_model_created_at_id
+    ON grievance_read_model (created_at, grievance_id);
+
+CREATE INDEX IF NOT EXISTS idx_grievance_read_model_collected_by_created_at_id
+    ON grievance_read_model (collected_by_id, created_at, grievance_id);
+
+-- Substring search over the combined text (pg_trgm from V2)
+CREATE INDEX IF NOT EXISTS idx_grievance_read_model_search_text_trgm
+    ON grievance_read_model USING gin (search_text gin_trgm_ops);
+
+ANALYZE grievance_read_model;
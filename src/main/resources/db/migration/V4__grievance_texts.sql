@@ -0,0 +1,18 @@
+-- Vertical split: address, grievance_details and admin_remarks move to a 1:1
+-- side table (GrievanceText) so grievances_excel only holds the narrow
+-- filter/group-by columns. Apply before deploying the split mapping.
+
+CREATE TABLE IF NOT EXISTS grievance_texts (
+    grievance_id       BIGINT PRIMARY KEY REFERENCES grievances_excel (grievance_id) ON DELETE CASCADE,
+    address            TEXT,
+    grievance_details  TEXT,
+    admin_remarks      TEXT
+);
+
+-- Every grievance gets a row, even with all three fields empty (optional = false)
+INSERT INTO grievance_texts (grievance_id, address, grievance_details, admin_remarks)
+SELECT grievance_id, address, grievance_details, admin_remarks
+FROM grievances_excel
+ON CONFLICT (grievance_id) DO NOTHING;
+
+ANALYZE grievance_texts;
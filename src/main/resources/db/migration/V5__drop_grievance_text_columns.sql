@@ -0,0 +1,10 @@
+-- Second half of V4. Apply only once every running container uses the split
+-- mapping; older builds still write these columns.
+--
+-- DROP COLUMN only marks the columns dead. Rewrite the table afterwards
+-- (VACUUM FULL or pg_repack in a quiet window) to actually shrink the heap.
+
+ALTER TABLE grievances_excel
+    DROP COLUMN IF EXISTS address,
+    DROP COLUMN IF EXISTS grievance_details,
+    DROP COLUMN IF EXISTS admin_remarks;
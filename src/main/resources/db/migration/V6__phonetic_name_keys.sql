@@ -0,0 +1,13 @@
+-- Phonetic keys for NameMatch.PHONETIC. The application computes them on every
+-- insert/update (PhoneticEncoder); existing rows are filled by
+-- POST /api/grievances/phonetic-keys/backfill once the columns exist.
+
+ALTER TABLE grievances_excel
+    ADD COLUMN IF NOT EXISTS name_phonetic VARCHAR(150),
+    ADD COLUMN IF NOT EXISTS father_spouse_phonetic VARCHAR(150);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_name_phonetic
+    ON grievances_excel (name_phonetic);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_father_spouse_phonetic
+    ON grievances_excel (father_spouse_phonetic);
@@ -0,0 +1,7 @@
+-- Keyset paging for GET /grievances/{id}/attachments and the detail preview:
+-- WHERE grievance_id = ? [AND status = ?] AND attachment_id > ? ORDER BY attachment_id
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attachments_grievance_id_attachment_id
+    ON grievance_attachments (grievance_id, attachment_id);
+
+ANALYZE grievance_attachments;
@@ -0,0 +1,65 @@
+-- Optional block sharding (app.sharding.enabled). Each shard is a schema with
+-- its own copy of the grievance tables; users, enum types and the id
+-- sequences stay in public, so ids remain unique across shards and a shard
+-- can be moved to its own database later without renumbering.
+--
+--   SELECT create_grievance_shard('shard_block_a');
+--   SELECT move_block_to_shard('Block A', 'shard_block_a');
+--
+-- then map the block in app.sharding.blocks and redeploy. Run the move in a
+-- quiet window: it copies and deletes the block's rows in one transaction.
+
+CREATE OR REPLACE FUNCTION create_grievance_shard(shard TEXT) RETURNS VOID AS $$
+DECLARE
+    grievance_seq  TEXT := pg_get_serial_sequence('public.grievances_excel', 'grievance_id');
+    attachment_seq TEXT := pg_get_serial_sequence('public.grievance_attachments', 'attachment_id');
+BEGIN
+    EXECUTE format('CREATE SCHEMA IF NOT EXISTS %I', shard);
+
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I.grievances_excel '
+                   '(LIKE public.grievances_excel INCLUDING ALL EXCLUDING IDENTITY)', shard);
+    EXECUTE format('ALTER TABLE %I.grievances_excel ALTER COLUMN grievance_id SET DEFAULT nextval(%L)',
+                   shard, grievance_seq);
+
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I.grievance_texts '
+                   '(LIKE public.grievance_texts INCLUDING ALL, '
+                   'FOREIGN KEY (grievance_id) REFERENCES %I.grievances_excel (grievance_id) ON DELETE CASCADE)',
+                   shard, shard);
+
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I.grievance_attachments '
+                   '(LIKE public.grievance_attachments INCLUDING ALL EXCLUDING IDENTITY, '
+                   'FOREIGN KEY (grievance_id) REFERENCES %I.grievances_excel (grievance_id))',
+                   shard, shard);
+    EXECUTE format('ALTER TABLE %I.grievance_attachments ALTER COLUMN attachment_id SET DEFAULT nextval(%L)',
+                   shard, attachment_seq);
+
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I.grievance_read_model '
+                   '(LIKE public.grievance_read_model INCLUDING ALL)', shard);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION move_block_to_shard(block_name TEXT, shard TEXT) RETURNS BIGINT AS $$
+DECLARE
+    moved BIGINT;
+BEGIN
+    EXECUTE format('INSERT INTO %I.grievances_excel SELECT * FROM public.grievances_excel WHERE block = $1',
+                   shard) USING block_name;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+
+    EXECUTE format('INSERT INTO %I.grievance_texts SELECT t.* FROM public.grievance_texts t '
+                   'JOIN public.grievances_excel g USING (grievance_id) WHERE g.block = $1', shard) USING block_name;
+    EXECUTE format('INSERT INTO %I.grievance_attachments SELECT a.* FROM public.grievance_attachments a '
+                   'JOIN public.grievances_excel g USING (grievance_id) WHERE g.block = $1', shard) USING block_name;
+    EXECUTE format('INSERT INTO %I.grievance_read_model SELECT * FROM public.grievance_read_model '
+                   'WHERE block = $1', shard) USING block_name;
+
+    DELETE FROM public.grievance_read_model WHERE block = block_name;
+    DELETE FROM public.grievance_attachments a USING public.grievances_excel g
+        WHERE a.grievance_id = g.grievance_id AND g.block = block_name;
+    DELETE FROM public.grievance_texts t USING public.grievances_excel g
+        WHERE t.grievance_id = g.grievance_id AND g.block = block_name;
+    DELETE FROM public.grievances_excel WHERE block = block_name;
+
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
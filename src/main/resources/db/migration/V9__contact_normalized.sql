@@ -0,0 +1,18 @@
+-- Normalized contact (last ten digits) for the contact filter and
+-- GET /grievances/citizen-history. The application keeps it current on every
+-- write (ContactNumbers); this fills existing rows with the same rule.
+
+ALTER TABLE grievances_excel
+    ADD COLUMN IF NOT EXISTS contact_normalized VARCHAR(10);
+
+-- On a large table, run in id ranges to keep each transaction short
+UPDATE grievances_excel
+SET contact_normalized = NULLIF(right(regexp_replace(contact, '\D', '', 'g'), 10), '')
+WHERE contact IS NOT NULL
+  AND contact_normalized IS DISTINCT FROM NULLIF(right(regexp_replace(contact, '\D', '', 'g'), 10), '');
+
+-- Equality on contact plus newest-first order in one index range scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grievances_contact_normalized_created_at
+    ON grievances_excel (contact_normalized, created_at);
+
+ANALYZE grievances_excel;
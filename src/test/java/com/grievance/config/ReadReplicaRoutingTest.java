@@ -0,0 +1,131 @@
+package com.grievance.config;
+
+import com.grievance.service.GrievanceChangedEvent;
+import com.grievance.support.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs ReadReplicaConfig against two Postgres servers. The replica is a plain
+ * second server with its own database name, so current_database() shows
+ * which pool served a transaction.
+ */
+@SpringBootTest(properties = "app.datasource.replica.read-your-writes-ms=60000")
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_DATABASE = "replica";
+
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName(REPLICA_DATABASE);
+
+    static {
+        REPLICA.start();
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+        registry.add("app.datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("app.datasource.replica.username", REPLICA::getUsername);
+        registry.add("app.datasource.replica.password", REPLICA::getPassword);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void reset() {
+        SecurityContextHolder.clearContext();
+        routingDataSource.setReplicaAvailable(true);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        signIn("reader");
+
+        assertThat(database(true)).isEqualTo(REPLICA_DATABASE);
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        signIn("writer");
+
+        assertThat(database(false)).isNotEqualTo(REPLICA_DATABASE);
+    }
+
+    @Test
+    void aUsersReadsStayOnThePrimaryAfterTheirWrite() {
+        signIn("agent-after-write");
+        String primary = write();
+
+        assertThat(database(true)).isEqualTo(primary);
+
+        // Other users are unaffected by that write
+        signIn("someone-else");
+        assertThat(database(true)).isEqualTo(REPLICA_DATABASE);
+    }
+
+    @Test
+    void aReadWriteTransactionWithoutAWriteLeavesReadsOnTheReplica() {
+        signIn("agent-without-write");
+        database(false);
+
+        assertThat(database(true)).isEqualTo(REPLICA_DATABASE);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsOutOfRotation() {
+        signIn("reader-during-lag");
+        routingDataSource.setReplicaAvailable(false);
+
+        assertThat(database(true)).isNotEqualTo(REPLICA_DATABASE);
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT current_database()", String.class));
+    }
+
+    // A read-write transaction that publishes the grievance change event, as the write paths do
+    private String write() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            eventPublisher.publishEvent(GrievanceChangedEvent.updated(0L));
+            return new JdbcTemplate(dataSource).queryForObject("SELECT current_database()", String.class);
+        });
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,187 @@
+package com.grievance.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grievance.config.QueryBudget;
+import com.grievance.config.QueryBudgetInterceptor;
+import com.grievance.dto.AttachmentDTO;
+import com.grievance.dto.CountMode;
+import com.grievance.dto.GrievanceRequest;
+import com.grievance.entity.User;
+import com.grievance.repository.UserRepository;
+import com.grievance.service.GrievanceService;
+import com.grievance.support.PostgresTestContainer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the list endpoints against Postgres and checks the statements each one
+ * issues (counted by QueryCountInspector) against its {@link QueryBudget}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GrievanceQueryBudgetTest {
+
+    private static final String BLOCK = "Budget Block";
+    private static final int GRIEVANCES = 12;
+    private static final int ATTACHMENTS_PER_GRIEVANCE = 2;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GrievanceService grievanceService;
+
+    private User admin;
+    private final List<Long> grievanceIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        User user = new User();
+        user.setName("budget-admin");
+        user.setPassword("{noop}secret");
+        user.setRole(User.Role.ADMIN);
+        admin = userRepository.save(user);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        try {
+            for (int i = 0; i < GRIEVANCES; i++) {
+                grievanceIds.add(grievanceService.saveGrievance(grievanceRequest(i)).getGrievanceId());
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(CountMode.class)
+    void allListingStaysWithinBudget(CountMode count) throws Exception {
+        MvcResult result = mockMvc.perform(get("/grievances/all")
+                        .param("size", "5")
+                        .param("count", count.name())
+                        .with(user(admin)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertWithinBudget(result);
+    }
+
+    @Test
+    void cursorListingStaysWithinBudgetOnEveryPage() throws Exception {
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/grievances/all/cursor").param("size", "5").with(user(admin));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertWithinBudget(result);
+
+            JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+            cursor = body.path("nextCursor").isNull() ? null : body.path("nextCursor").asText(null);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isGreaterThan(1);
+    }
+
+    @Test
+    void searchWithFacetsAndAttachmentsStaysWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/grievances")
+                        .param("block", BLOCK)
+                        .param("includeAttachments", "true")
+                        .param("facets", "true")
+                        .param("size", "5")
+                        .with(user(admin)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertWithinBudget(result);
+    }
+
+    @Test
+    void batchStaysWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(post("/grievances/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("grievanceIds", grievanceIds)))
+                        .with(user(admin)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertWithinBudget(result);
+    }
+
+    private void assertWithinBudget(MvcResult result) {
+        QueryBudget budget = ((HandlerMethod) result.getHandler()).getMethodAnnotation(QueryBudget.class);
+        Integer statements = (Integer) result.getRequest()
+                .getAttribute(QueryBudgetInterceptor.STATEMENT_COUNT_ATTRIBUTE);
+
+        assertThat(budget).as("@QueryBudget on the handler").isNotNull();
+        assertThat(statements).as("statements issued").isNotNull().isPositive();
+        assertThat(statements).as("statements issued").isLessThanOrEqualTo(budget.value());
+    }
+
+    private static GrievanceRequest grievanceRequest(int i) {
+        GrievanceRequest request = new GrievanceRequest();
+        request.setBlock(BLOCK);
+        request.setGp("GP " + (i % 3));
+        request.setName("Citizen " + i);
+        request.setContact("98765432" + String.format("%02d", i));
+        request.setGrievanceDetails("Street light not working, ward " + i);
+
+        List<AttachmentDTO> attachments = new ArrayList<>();
+        for (int a = 0; a < ATTACHMENTS_PER_GRIEVANCE; a++) {
+            AttachmentDTO attachment = new AttachmentDTO();
+            attachment.setS3Key("grievances/" + i + "/photo-" + a + ".jpg");
+            attachment.setS3Url("https://example.invalid/grievances/" + i + "/photo-" + a + ".jpg");
+            attachment.setFileName("photo-" + a + ".jpg");
+            attachment.setFileType("image/jpeg");
+            attachment.setFileSize(1024L);
+            attachments.add(attachment);
+        }
+        request.setAttachments(attachments);
+        return request;
+    }
+}
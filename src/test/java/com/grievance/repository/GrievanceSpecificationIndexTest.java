@@ -0,0 +1,185 @@
+package com.grievance.repository;
+
+import com.grievance.dto.GrievanceFilter;
+import com.grievance.dto.NameMatch;
+import com.grievance.entity.Grievance;
+import com.grievance.support.CapturingStatementInspector;
+import com.grievance.support.PostgresTestContainer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the SQL each GrievanceSpecification filter shape produces and
+ * checks that an index serves it. Sequential scans are disabled for the
+ * EXPLAIN, so a plan that still scans the table means no index can answer
+ * the predicate. Criteria values are inlined so the plan sees real literals
+ * (a bound LIKE pattern cannot use a prefix index).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.grievance.support.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// CREATE INDEX CONCURRENTLY waits out open transactions, so no test-managed one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GrievanceSpecificationIndexTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private GrievanceRepository grievanceRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    void createMigrationIndexes() throws SQLException {
+        // Expression and trigram indexes that the entity mapping cannot declare
+        PostgresTestContainer.runMigration(dataSource, "V1__grievance_filter_indexes.sql");
+        PostgresTestContainer.runMigration(dataSource, "V2__trigram_search_indexes.sql");
+    }
+
+    @Test
+    void blockGpAndWardUseTheCompositeIndex() {
+        assertIndexScan(f -> {
+            f.setBlock("Block A");
+            f.setGp("GP 1");
+            f.setWardNo("7");
+        }, "idx_grievances_block_gp_ward_created_at");
+    }
+
+    @Test
+    void blockAndStatusUseTheCompositeIndex() {
+        assertIndexScan(f -> {
+            f.setBlock("Block A");
+            f.setStatus(Grievance.GrievanceStatus.PENDING);
+        }, "idx_grievances_block_status_created_at");
+    }
+
+    @Test
+    void statusWithDateRangeUsesTheStatusIndex() {
+        assertIndexScan(f -> {
+            f.setStatus(Grievance.GrievanceStatus.PENDING);
+            f.setStartDate(LocalDate.of(2026, 1, 1));
+            f.setEndDate(LocalDate.of(2026, 1, 31));
+        }, "idx_grievances_status_created_at");
+    }
+
+    @Test
+    void dateRangeAloneUsesTheCreatedAtIndex() {
+        assertIndexScan(f -> f.setStartDate(LocalDate.of(2026, 1, 1)), "idx_grievances_created_at_id");
+    }
+
+    @Test
+    void villageSahiUsesItsIndex() {
+        assertIndexScan(f -> f.setVillageSahi("Sahi 3"), "idx_grievances_village_sahi");
+    }
+
+    @Test
+    void contactUsesTheNormalizedIndex() {
+        assertIndexScan(f -> f.setContact("+91 98765-43210"), "idx_grievances_contact_normalized_created_at");
+    }
+
+    @Test
+    void nameByDefaultIsASubstringMatchOnTheTrigramIndex() {
+        assertIndexScan(f -> f.setName("kumar"), "idx_grievances_name_trgm");
+    }
+
+    @Test
+    void fatherSpouseNameByDefaultIsASubstringMatchOnTheTrigramIndex() {
+        assertIndexScan(f -> f.setFatherSpouseName("kumar"), "idx_grievances_father_spouse_name_trgm");
+    }
+
+    @Test
+    void namePrefixUsesThePatternOpsIndex() {
+        assertIndexScan(f -> {
+            f.setName("ram");
+            f.setNameMatch(NameMatch.PREFIX);
+        }, "idx_grievances_lower_name_prefix");
+    }
+
+    @Test
+    void fatherSpouseNamePrefixUsesThePatternOpsIndex() {
+        assertIndexScan(f -> {
+            f.setFatherSpouseName("ram");
+            f.setNameMatch(NameMatch.PREFIX);
+        }, "idx_grievances_lower_father_spouse_name_prefix");
+    }
+
+    @Test
+    void phoneticNameUsesTheKeyIndex() {
+        assertIndexScan(f -> {
+            f.setName("Ramesh");
+            f.setNameMatch(NameMatch.PHONETIC);
+        }, "idx_grievances_name_phonetic");
+    }
+
+    @Test
+    void topicUsesOneTrigramIndexPerColumn() {
+        String plan = explain(f -> f.setTopic("water supply"));
+
+        assertThat(plan).doesNotContain("Seq Scan");
+        assertThat(plan).contains("BitmapOr");
+        for (int i = 1; i <= 5; i++) {
+            assertThat(plan).contains("idx_grievances_topic_" + i + "_trgm");
+        }
+    }
+
+    private void assertIndexScan(Consumer<GrievanceFilter> filter, String index) {
+        String plan = explain(filter);
+
+        assertThat(plan).as("plan").doesNotContain("Seq Scan");
+        assertThat(plan).as("plan").contains(index);
+    }
+
+    private String explain(Consumer<GrievanceFilter> configure) {
+        GrievanceFilter filter = new GrievanceFilter();
+        configure.accept(filter);
+
+        CapturingStatementInspector.reset();
+        grievanceRepository.findAll(GrievanceSpecification.filter(filter));
+        String sql = CapturingStatementInspector.lastStatement();
+        assertThat(sql).as("captured SQL").isNotNull();
+
+        return new JdbcTemplate(dataSource).execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
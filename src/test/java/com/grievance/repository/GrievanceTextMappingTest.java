@@ -0,0 +1,106 @@
+package com.grievance.repository;
+
+import com.grievance.entity.Grievance;
+import com.grievance.support.PostgresTestContainer;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The text fields live in grievance_texts, keyed by the grievance's IDENTITY
+ * id through @MapsId. Checks that the text row is written with that id, that
+ * it reads back, and that plain list queries leave it unloaded.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class GrievanceTextMappingTest {
+
+    private static final String BLOCK = "Text Block";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private GrievanceRepository grievanceRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void textRowIsInsertedUnderTheGrievanceId() {
+        Long id = saveWithText("Ward 4, near the tank", "No water since Monday", "Forwarded to PHED");
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT address, grievance_details, admin_remarks FROM grievance_texts WHERE grievance_id = ?", id);
+
+        assertThat(row).containsEntry("address", "Ward 4, near the tank")
+                .containsEntry("grievance_details", "No water since Monday")
+                .containsEntry("admin_remarks", "Forwarded to PHED");
+    }
+
+    @Test
+    void textReadsBackThroughTheDelegatingGetters() {
+        Long id = saveWithText("Ward 4, near the tank", "No water since Monday", "Forwarded to PHED");
+
+        Grievance reloaded = grievanceRepository.findById(id).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(reloaded.getText())).isFalse();
+        assertThat(reloaded.getAddress()).isEqualTo("Ward 4, near the tank");
+        assertThat(reloaded.getGrievanceDetails()).isEqualTo("No water since Monday");
+        assertThat(reloaded.getAdminRemarks()).isEqualTo("Forwarded to PHED");
+    }
+
+    @Test
+    void listQueriesLeaveTheTextUnloaded() {
+        saveWithText("Address 1", "Details 1", null);
+        saveWithText("Address 2", "Details 2", null);
+
+        List<Grievance> grievances = grievanceRepository.findByBlock(BLOCK);
+
+        assertThat(grievances).hasSize(2);
+        assertThat(grievances).allSatisfy(g -> assertThat(Hibernate.isInitialized(g.getText())).isFalse());
+    }
+
+    @Test
+    void batchReadFetchesTheText() {
+        Long first = saveWithText("Address 1", "Details 1", null);
+        Long second = saveWithText("Address 2", "Details 2", null);
+
+        List<Grievance> grievances = grievanceRepository.findAllWithUsersAndTextByIdIn(List.of(first, second));
+
+        assertThat(grievances).hasSize(2);
+        assertThat(grievances).allSatisfy(g -> assertThat(Hibernate.isInitialized(g.getText())).isTrue());
+    }
+
+    private Long saveWithText(String address, String details, String adminRemarks) {
+        Grievance grievance = new Grievance();
+        grievance.setBlock(BLOCK);
+        grievance.setName("Citizen");
+        grievance.setAddress(address);
+        grievance.setGrievanceDetails(details);
+        grievance.setAdminRemarks(adminRemarks);
+
+        Long id = grievanceRepository.save(grievance).getGrievanceId();
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+}
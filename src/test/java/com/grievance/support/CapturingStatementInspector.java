@@ -0,0 +1,26 @@
+package com.grievance.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Keeps the last SQL statement Hibernate prepared on the current thread, so a
+ * test can run EXPLAIN on exactly what a repository call sent.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<String> LAST = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        LAST.set(sql);
+        return sql;
+    }
+
+    public static String lastStatement() {
+        return LAST.get();
+    }
+
+    public static void reset() {
+        LAST.remove();
+    }
+}
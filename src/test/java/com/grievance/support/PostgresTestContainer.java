@@ -0,0 +1,43 @@
+package com.grievance.support;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * One Postgres container for the whole test run. It is started on first use
+ * and never restarted, so Spring's cached test contexts keep a valid URL.
+ */
+public final class PostgresTestContainer {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    private PostgresTestContainer() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    /**
+     * Runs one of the files in db/migration on an autocommit connection, as
+     * production does by hand (CREATE INDEX CONCURRENTLY cannot run in a transaction).
+     */
+    public static void runMigration(DataSource dataSource, String fileName) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/" + fileName));
+        }
+    }
+}